@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Generated data files for benchmarks.
+ * <p>
+ * Files are generated once per size and reused by following runs, directory
+ * can be changed using bined.jmh.dataDir system property.
+ */
+@NullMarked
+public final class BenchmarkFiles {
+
+    public static final String DATA_DIR_PROPERTY = "bined.jmh.dataDir";
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final long SEED = 0x42696e4564L;
+
+    private BenchmarkFiles() {
+    }
+
+    public static File getDataDirectory() {
+        String dataDir = System.getProperty(DATA_DIR_PROPERTY);
+        File directory = dataDir != null ? new File(dataDir) : new File(System.getProperty("java.io.tmpdir"), "bined-jmh");
+        directory.mkdirs();
+        return directory;
+    }
+
+    /**
+     * Returns data file of given size, generating it if not yet available.
+     *
+     * @param size file size
+     * @return data file
+     * @throws IOException if generating fails
+     */
+    public static File getDataFile(long size) throws IOException {
+        return getDataFile(size, "data");
+    }
+
+    /**
+     * Returns data file of given size with given name prefix, generating it if
+     * not yet available.
+     * <p>
+     * Files with different prefixes have the same content.
+     *
+     * @param size file size
+     * @param prefix name prefix
+     * @return data file
+     * @throws IOException if generating fails
+     */
+    public static synchronized File getDataFile(long size, String prefix) throws IOException {
+        File file = new File(getDataDirectory(), prefix + "-" + size + ".bin");
+        if (file.isFile() && file.length() == size) {
+            return file;
+        }
+
+        File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        Random random = new Random(SEED);
+        byte[] chunk = new byte[BUFFER_SIZE];
+        try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long remains = size;
+            while (remains > 0) {
+                random.nextBytes(chunk);
+                int toWrite = remains < BUFFER_SIZE ? (int) remains : BUFFER_SIZE;
+                ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, toWrite);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                remains -= toWrite;
+            }
+        }
+
+        if (!tempFile.renameTo(file)) {
+            throw new IOException("Unable to create data file " + file);
+        }
+        return file;
+    }
+
+    /**
+     * Creates empty file for output of benchmark.
+     *
+     * @param name file name
+     * @return output file
+     */
+    public static File getOutputFile(String name) {
+        File file = new File(getDataDirectory(), name);
+        file.delete();
+        return file;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.exbin.bined.jaguif.objectdata.PageProvider;
+import org.exbin.bined.netbeans.debug.DebugViewData;
+import org.jspecify.annotations.NullMarked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of debugger view data access.
+ * <p>
+ * Pages are generated by synthetic provider, so that only caching and copying
+ * overhead is measured.
+ */
+@NullMarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DebugViewDataBenchmark {
+
+    private static final int BLOCK_SIZE = 65536;
+
+    @Param({"1048576", "67108864", "1073741824", "4294967296"})
+    public long size;
+
+    private DebugViewData data;
+    private final byte[] block = new byte[BLOCK_SIZE];
+    private long position;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = new DebugViewData(new SyntheticPageProvider(size));
+    }
+
+    @Benchmark
+    public void copyToArray(Blackhole blackhole) {
+        int length = (int) Math.min(BLOCK_SIZE, size - position);
+        data.copyToArray(position, block, 0, length);
+        blackhole.consume(block);
+        position += length;
+        if (position >= size) {
+            position = 0;
+        }
+    }
+
+    @NullMarked
+    private static class SyntheticPageProvider implements PageProvider {
+
+        private final long documentSize;
+
+        public SyntheticPageProvider(long documentSize) {
+            this.documentSize = documentSize;
+        }
+
+        @Override
+        public byte[] getPage(long pageIndex) {
+            long startPosition = pageIndex * DebugViewData.PAGE_SIZE;
+            int length = (int) Math.min(DebugViewData.PAGE_SIZE, documentSize - startPosition);
+            byte[] page = new byte[length];
+            for (int i = 0; i < length; i++) {
+                page[i] = (byte) (startPosition + i);
+            }
+            return page;
+        }
+
+        @Override
+        public long getDocumentSize() {
+            return documentSize;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.benchmark;
+
+import java.io.File;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.bined.netbeans.main.BinEdFileDataWrapper;
+import org.jspecify.annotations.NullMarked;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.LocalFileSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of file data wrapper access.
+ * <p>
+ * Local file is accessed using mapped file access or as stream using page
+ * cache, which is used for files of other than local file systems.
+ */
+@NullMarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileDataWrapperBenchmark {
+
+    private static final int BLOCK_SIZE = 65536;
+    private static final int RANDOM_POSITIONS = 4096;
+    private static final String STREAM_ACCESS = "stream";
+
+    @Param({"1048576", "67108864", "1073741824", "4294967296"})
+    public long size;
+
+    @Param({"mapped", STREAM_ACCESS})
+    public String access;
+
+    private BinEdFileDataWrapper data;
+    private final byte[] block = new byte[BLOCK_SIZE];
+    private final long[] randomPositions = new long[RANDOM_POSITIONS];
+    private long position;
+    private int randomIndex;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        File dataFile = BenchmarkFiles.getDataFile(size);
+        LocalFileSystem fileSystem = new LocalFileSystem();
+        fileSystem.setRootDirectory(dataFile.getParentFile());
+        FileObject fileObject = fileSystem.findResource(dataFile.getName());
+        data = new BinEdFileDataWrapper(fileObject);
+        data.setLocalAccessEnabled(!STREAM_ACCESS.equals(access));
+
+        Random random = new Random(size);
+        for (int i = 0; i < RANDOM_POSITIONS; i++) {
+            randomPositions[i] = (random.nextLong() & Long.MAX_VALUE) % size;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.close();
+    }
+
+    @Benchmark
+    public byte getByteSequential() {
+        byte value = data.getByte(position);
+        position = position + 1 < size ? position + 1 : 0;
+        return value;
+    }
+
+    @Benchmark
+    public byte getByteRandom() {
+        byte value = data.getByte(randomPositions[randomIndex]);
+        randomIndex = (randomIndex + 1) % RANDOM_POSITIONS;
+        return value;
+    }
+
+    @Benchmark
+    public void copyToArray(Blackhole blackhole) {
+        int length = (int) Math.min(BLOCK_SIZE, size - position);
+        data.copyToArray(position, block, 0, length);
+        blackhole.consume(block);
+        nextBlock(length);
+    }
+
+    @Benchmark
+    public BinaryData copy() {
+        int length = (int) Math.min(BLOCK_SIZE, size - position);
+        BinaryData result = data.copy(position, length);
+        nextBlock(length);
+        return result;
+    }
+
+    private void nextBlock(int length) {
+        position += length;
+        if (position >= size) {
+            position = 0;
+        }
+    }
+}
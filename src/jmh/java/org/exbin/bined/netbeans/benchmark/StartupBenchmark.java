@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.exbin.bined.netbeans.BinaryEditorTopComponent;
+import org.exbin.bined.netbeans.Installer;
+import org.jspecify.annotations.NullMarked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of plugin initialization outside of IDE.
+ * <p>
+ * Cold initialization is measured once in each fresh virtual machine, so that
+ * class loading and static initialization are included. Warm measurements
+ * create binary editor after plugin was already initialized, which is the
+ * cost of each following "Open as Binary".
+ */
+@NullMarked
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public void coldInit() {
+        Installer.initBinEd();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public BinaryEditorTopComponent coldFirstEditor(InitializedState state) {
+        return new BinaryEditorTopComponent();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public BinaryEditorTopComponent warmEditor(InitializedState state) {
+        return new BinaryEditorTopComponent();
+    }
+
+    @State(Scope.Benchmark)
+    public static class InitializedState {
+
+        @Setup(Level.Trial)
+        public void setup() {
+            Installer.initBinEd();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import org.exbin.bined.netbeans.utils.StreamUtils;
+import org.jspecify.annotations.NullMarked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of stream utilities.
+ * <p>
+ * Each invocation processes whole data file, file streams use channel
+ * transfer, buffered streams use copying through buffer.
+ */
+@NullMarked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StreamUtilsBenchmark {
+
+    @Param({"1048576", "67108864", "1073741824", "4294967296"})
+    public long size;
+
+    private File dataFile;
+    private File compareFile;
+    private File outputFile;
+    private File secondOutputFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dataFile = BenchmarkFiles.getDataFile(size);
+        compareFile = BenchmarkFiles.getDataFile(size, "compare");
+        outputFile = BenchmarkFiles.getOutputFile("output.bin");
+        secondOutputFile = BenchmarkFiles.getOutputFile("output2.bin");
+    }
+
+    @Benchmark
+    public void copyFileStreams() throws IOException {
+        try (InputStream source = new FileInputStream(dataFile); OutputStream target = new FileOutputStream(outputFile)) {
+            StreamUtils.copyInputStreamToOutputStream(source, target);
+        }
+    }
+
+    @Benchmark
+    public void copyBufferedStreams() throws IOException {
+        try (InputStream source = new BufferedInputStream(new FileInputStream(dataFile)); OutputStream target = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+            StreamUtils.copyInputStreamToOutputStream(source, target);
+        }
+    }
+
+    @Benchmark
+    public void copyLimitedFileStreams() throws IOException {
+        try (InputStream source = new FileInputStream(dataFile); OutputStream target = new FileOutputStream(outputFile)) {
+            StreamUtils.copyInputStreamToOutputStream(source, target, size);
+        }
+    }
+
+    @Benchmark
+    public void copyLimitedBufferedStreams() throws IOException {
+        try (InputStream source = new BufferedInputStream(new FileInputStream(dataFile)); OutputStream target = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+            StreamUtils.copyInputStreamToOutputStream(source, target, size);
+        }
+    }
+
+    @Benchmark
+    public void copyFixedSizeFileStreams() throws IOException {
+        try (InputStream source = new FileInputStream(dataFile); OutputStream target = new FileOutputStream(outputFile)) {
+            StreamUtils.copyFixedSizeInputStreamToOutputStream(source, target, size);
+        }
+    }
+
+    @Benchmark
+    public void copyFixedSizeBufferedStreams() throws IOException {
+        try (InputStream source = new BufferedInputStream(new FileInputStream(dataFile)); OutputStream target = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+            StreamUtils.copyFixedSizeInputStreamToOutputStream(source, target, size);
+        }
+    }
+
+    @Benchmark
+    public void copyToTwoStreams() throws IOException {
+        try (InputStream source = new FileInputStream(dataFile); OutputStream target = new FileOutputStream(outputFile); OutputStream secondTarget = new FileOutputStream(secondOutputFile)) {
+            StreamUtils.copyInputStreamToTwoOutputStreams(source, target, secondTarget);
+        }
+    }
+
+    @Benchmark
+    public void transferData() throws IOException {
+        try (FileChannel source = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ); FileChannel target = FileChannel.open(outputFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            StreamUtils.transferData(source, target, size);
+        }
+    }
+
+    @Benchmark
+    public void skipFileStream() throws IOException {
+        try (InputStream source = new FileInputStream(dataFile)) {
+            StreamUtils.skipInputStreamData(source, size);
+        }
+    }
+
+    @Benchmark
+    public void skipBufferedStream() throws IOException {
+        try (InputStream source = new BufferedInputStream(new FileInputStream(dataFile))) {
+            StreamUtils.skipInputStreamData(source, size);
+        }
+    }
+
+    @Benchmark
+    public long compareStreams() throws IOException {
+        try (InputStream stream = new FileInputStream(dataFile); InputStream compStream = new FileInputStream(compareFile)) {
+            return StreamUtils.compareStreams(stream, compStream);
+        }
+    }
+}
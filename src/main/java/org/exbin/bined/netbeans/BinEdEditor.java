@@ -16,9 +16,10 @@
 package org.exbin.bined.netbeans;
 
 import java.awt.event.ActionEvent;
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jspecify.annotations.Nullable;
@@ -27,22 +28,38 @@ import javax.swing.AbstractAction;
 import javax.swing.Action;
 import javax.swing.JComponent;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.netbeans.main.AtomicFileSaver;
 import org.exbin.bined.netbeans.main.BinaryUndoSwingHandler;
+import org.exbin.bined.netbeans.main.IncrementalFileReloader;
+import org.exbin.bined.netbeans.main.MemoryBudgetGovernor;
+import org.exbin.bined.netbeans.main.SharedDocumentRegistry;
 import org.exbin.bined.swing.section.SectCodeArea;
 import org.exbin.bined.jaguif.BinEdFileHandler;
 import org.exbin.bined.jaguif.component.UndoRedoWrapper;
+import org.exbin.bined.jaguif.document.FileProcessingMode;
 import org.netbeans.core.spi.multiview.CloseOperationState;
 import org.netbeans.core.spi.multiview.MultiViewElement;
 import org.netbeans.core.spi.multiview.MultiViewElementCallback;
 import org.netbeans.core.spi.multiview.MultiViewFactory;
+import org.netbeans.api.progress.ProgressHandle;
+import org.openide.awt.StatusDisplayer;
 import org.openide.awt.UndoRedo;
 import org.openide.filesystems.FileChangeAdapter;
 import org.openide.filesystems.FileEvent;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
 import org.openide.loaders.DataObject;
 import org.openide.text.CloneableEditor;
 import org.openide.text.DataEditorSupport;
 import org.openide.util.HelpCtx;
 import org.openide.util.Lookup;
+import org.openide.util.NbBundle;
+import org.openide.util.RequestProcessor;
+import org.openide.util.Task;
 import org.openide.windows.TopComponent;
 
 /**
@@ -62,10 +79,19 @@ public class BinEdEditor extends CloneableEditor implements MultiViewElement, He
     public static final String ELEMENT_ID = "org.exbin.bined.netbeans.BinEdEditor";
     public static final String ELEMENT_NAME = "org-exbin-bined-netbeans-BinEdEditor";
     public static final int POSITION_ATTRIBUTE = 900005; // Between "Source" and "History"
+    private static final String SAVING_FILE_STRING = "MSG_SavingFile";
+    private static final String SAVE_FAILED_STRING = "MSG_SaveFailed";
+    private static final int SAVE_PROGRESS_UNITS = 100;
+    private static final RequestProcessor SAVE_RP = new RequestProcessor("BinEd save", 1); // NOI18N
+    private static final RequestProcessor RELOAD_RP = new RequestProcessor("BinEd reload", 1); // NOI18N
 
     protected BinaryEditorTopComponent editorComponent;
     protected transient MultiViewElementCallback callback;
     protected final Lookup lookup;
+    private final IncrementalFileReloader fileReloader = new IncrementalFileReloader();
+    private volatile boolean saving = false;
+    @Nullable
+    private Task saveTask = null;
 
     public BinEdEditor(Lookup lookup) {
         this.lookup = lookup;
@@ -94,13 +120,17 @@ public class BinEdEditor extends CloneableEditor implements MultiViewElement, He
 
     @Override
     public CloseOperationState canCloseElement() {
-        if (!editorComponent.getFileHandler().isModified()) {
+        // Data stay available in other views of the same file
+        BinEdFileHandler fileHandler = editorComponent.getFileHandler();
+        SharedDocumentRegistry documentRegistry = SharedDocumentRegistry.getInstance();
+        if (documentRegistry.isShared(fileHandler) || !documentRegistry.isModified(fileHandler)) {
             return CloseOperationState.STATE_OK;
         }
 
         AbstractAction saveAction = new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
+                // Saving continues in background, data are released when finished
                 saveFile();
             }
         };
@@ -125,7 +155,7 @@ public class BinEdEditor extends CloneableEditor implements MultiViewElement, He
 
     @Override
     public void componentActivated() {
-        editorComponent.componentActivated();
+        editorComponent.editorActivated();
 //        FrameModuleApi frameModule = App.getModule(FrameModuleApi.class);
 //        ComponentActivationListener componentActivationListener = frameModule.getFrameHandler().getComponentActivationListener();
 //        fileHandler.componentActivated(componentActivationListener);
@@ -157,7 +187,13 @@ public class BinEdEditor extends CloneableEditor implements MultiViewElement, He
             dataObject.getPrimaryFile().addFileChangeListener(new FileChangeAdapter() {
                 @Override
                 public void fileChanged(FileEvent fe) {
-                    openFile(dataObject);
+                    if (saving) {
+                        return;
+                    }
+
+                    SwingUtilities.invokeLater(() -> {
+                        reloadFile(dataObject);
+                    });
                 }
             });
 
@@ -177,7 +213,24 @@ public class BinEdEditor extends CloneableEditor implements MultiViewElement, He
 
     @Override
     public void componentClosed() {
-        editorComponent.getFileHandler().closeData();
+        Task pendingSave = saveTask;
+        if (pendingSave != null && !pendingSave.isFinished()) {
+            pendingSave.addTaskListener((task) -> {
+                SwingUtilities.invokeLater(this::releaseData);
+            });
+            return;
+        }
+
+        releaseData();
+    }
+
+    private void releaseData() {
+        BinEdFileHandler fileHandler = editorComponent.getFileHandler();
+        if (SharedDocumentRegistry.getInstance().release(fileHandler)) {
+            MemoryBudgetGovernor.getInstance().unregister(fileHandler);
+            fileHandler.closeData();
+        }
+        editorComponent.updateUndoHandler();
     }
 
     @Nullable
@@ -194,48 +247,179 @@ public class BinEdEditor extends CloneableEditor implements MultiViewElement, He
 
     public void openFile(DataObject dataObject) {
         BinEdFileHandler fileHandler = editorComponent.getFileHandler();
-        SectCodeArea codeArea = fileHandler.getCodeArea();
-        boolean editable = dataObject.getPrimaryFile().canWrite();
-//        URI fileUri = dataObject.getPrimaryFile().toURI();
-//        if (fileUri == null) {
-            InputStream stream = null;
+        BinaryEditorTopComponent.loadFile(fileHandler, dataObject.getPrimaryFile());
+        editorComponent.updateUndoHandler();
+        fileReloader.fileSynced(dataObject.getPrimaryFile());
+        fileHandler.fileSync();
+        editorComponent.updateStatus();
+    }
+
+    /**
+     * Reloads externally changed file.
+     * <p>
+     * Unmodified content in memory is updated only in changed ranges keeping
+     * caret, selection and scroll position, otherwise file is opened again.
+     * Should be called from event dispatch thread.
+     *
+     * @param dataObject data object
+     */
+    private void reloadFile(DataObject dataObject) {
+        FileObject primaryFile = dataObject.getPrimaryFile();
+        if (!fileReloader.isChanged(primaryFile)) {
+            return;
+        }
+
+        BinEdFileHandler fileHandler = editorComponent.getFileHandler();
+        SharedDocumentRegistry documentRegistry = SharedDocumentRegistry.getInstance();
+        if (!documentRegistry.isPrimaryView(fileHandler)) {
+            // Shared data are reloaded only once
+            return;
+        }
+
+        BinaryData data = fileHandler.getCodeArea().getContentData();
+        BinEdFileHandler documentHandler = documentRegistry.getDocumentHandler(fileHandler);
+        if (documentRegistry.isModified(fileHandler) || documentHandler.getFileProcessingMode() != FileProcessingMode.MEMORY || !(data instanceof EditableBinaryData)) {
+            openFile(dataObject);
+            return;
+        }
+
+        reloadChanges(dataObject, data, true);
+    }
+
+    private void reloadChanges(DataObject dataObject, BinaryData data, boolean appendOnly) {
+        FileObject primaryFile = dataObject.getPrimaryFile();
+        BinEdFileHandler fileHandler = editorComponent.getFileHandler();
+        SharedDocumentRegistry documentRegistry = SharedDocumentRegistry.getInstance();
+        // Content data can be edited while comparing
+        IncrementalFileReloader.DataSnapshot snapshot = fileReloader.createSnapshot(primaryFile, data, appendOnly);
+        RELOAD_RP.post(() -> {
+            List<IncrementalFileReloader.DataChange> changes;
             try {
-                stream = dataObject.getPrimaryFile().getInputStream();
-                if (stream != null) {
-                    fileHandler.loadFromStream(stream);
-                }
+                changes = fileReloader.computeChanges(primaryFile, snapshot);
             } catch (IOException ex) {
                 Logger.getLogger(BinEdEditor.class.getName()).log(Level.SEVERE, null, ex);
+                return;
             } finally {
-                if (stream != null) {
-                    try {
-                        stream.close();
-                    } catch (IOException ex) {
-                        Logger.getLogger(BinEdEditor.class.getName()).log(Level.SEVERE, null, ex);
+                snapshot.dispose();
+            }
+
+            SwingUtilities.invokeLater(() -> {
+                SectCodeArea codeArea = fileHandler.getCodeArea();
+                if (documentRegistry.isModified(fileHandler) || codeArea.getContentData() != data) {
+                    openFile(dataObject);
+                    return;
+                }
+
+                if (changes == null) {
+                    // File was not just appended, compare whole content
+                    reloadChanges(dataObject, data, false);
+                    return;
+                }
+
+                if (!changes.isEmpty()) {
+                    long caretPosition = codeArea.getActiveCaretPosition().getDataPosition();
+                    SelectionRange selection = codeArea.getSelection();
+                    IncrementalFileReloader.applyChanges((EditableBinaryData) data, changes);
+                    codeArea.notifyDataChanged();
+
+                    long dataSize = data.getDataSize();
+                    if (caretPosition > dataSize) {
+                        codeArea.setActiveCaretPosition(dataSize);
+                    }
+                    if (selection.getEnd() > dataSize) {
+                        codeArea.setSelection(new SelectionRange(Math.min(selection.getStart(), dataSize), dataSize));
+                    }
+
+                    // Undo history doesn't match reloaded content
+                    UndoRedoWrapper undoWrapper = (UndoRedoWrapper) fileHandler.getUndoRedo().orElse(null);
+                    if (undoWrapper != null) {
+                        ((BinaryUndoSwingHandler) undoWrapper.getUndoRedo()).clear();
                     }
                 }
+
+                fileReloader.fileSynced(primaryFile);
+                fileHandler.fileSync();
+                editorComponent.updateStatus();
+            });
+        });
+    }
+
+    /**
+     * Saves file.
+     * <p>
+     * Local files are saved in background, editing is disabled in all views
+     * of the document until saving is finished. Files opened in delta mode
+     * are saved in place by owner of the document, as their content still
+     * refers to the original file, other files are saved using temporary
+     * file and atomic rename.
+     *
+     * @return saving task
+     */
+    public Task saveFile() {
+        DataObject dataObject = lookup.lookup(DataObject.class);
+        BinEdFileHandler fileHandler = editorComponent.getFileHandler();
+        FileObject primaryFile = dataObject.getPrimaryFile();
+        File file = FileUtil.toFile(primaryFile);
+        if (file == null) {
+            saveToStream(primaryFile);
+            return Task.EMPTY;
+        }
+
+        SharedDocumentRegistry documentRegistry = SharedDocumentRegistry.getInstance();
+        BinEdFileHandler documentHandler = documentRegistry.getDocumentHandler(fileHandler);
+        boolean deltaMode = documentHandler.getFileProcessingMode() == FileProcessingMode.DELTA;
+        BinaryData data = fileHandler.getCodeArea().getContentData();
+        Runnable unlockDocument = documentRegistry.lockDocument(fileHandler);
+        saving = true;
+        saveTask = SAVE_RP.post(() -> {
+            boolean saved = false;
+            ProgressHandle progressHandle = ProgressHandle.createHandle(NbBundle.getMessage(BinEdEditor.class, SAVING_FILE_STRING, primaryFile.getNameExt()));
+            try {
+                if (deltaMode) {
+                    progressHandle.start();
+                    documentHandler.saveFile();
+                } else {
+                    progressHandle.start(SAVE_PROGRESS_UNITS);
+                    AtomicFileSaver fileSaver = new AtomicFileSaver((long processed, long total) -> {
+                        progressHandle.progress(total == 0 ? SAVE_PROGRESS_UNITS : (int) (processed * SAVE_PROGRESS_UNITS / total));
+                    });
+                    fileSaver.save(data, file);
+                }
+                primaryFile.refresh();
+                fileReloader.fileSynced(primaryFile);
+                saved = true;
+            } catch (IOException | RuntimeException ex) {
+                Logger.getLogger(BinEdEditor.class.getName()).log(Level.SEVERE, null, ex);
+            } finally {
+                progressHandle.finish();
             }
-//        } else {
-//            codeArea.setEditMode(editable ? EditMode.EXPANDING : EditMode.READ_ONLY);
-//            File file = Utilities.toFile(fileUri);
-//            fileHandler.loadFromFile(file.toURI(), null);
-//        }
-        fileHandler.fileSync();
-        editorComponent.updateStatus();
+
+            final boolean fileSaved = saved;
+            SwingUtilities.invokeLater(() -> {
+                saving = false;
+                unlockDocument.run();
+                if (fileSaved) {
+                    documentRegistry.documentSaved(fileHandler);
+                } else {
+                    StatusDisplayer.getDefault().setStatusText(NbBundle.getMessage(BinEdEditor.class, SAVE_FAILED_STRING, primaryFile.getNameExt()));
+                }
+                editorComponent.updateStatus();
+            });
+        });
+        return saveTask;
     }
 
-    public void saveFile() {
+    private void saveToStream(FileObject primaryFile) {
 //        try {
 //            getEditorSupport().saveDocument();
 //        } catch (IOException ex) {
 //            Logger.getLogger(BinEdEditor.class.getName()).log(Level.SEVERE, null, ex);
 //        }
 //        editorComponent.getFileHandler().saveFile();
-        DataObject dataObject = lookup.lookup(DataObject.class);
         BinEdFileHandler fileHandler = editorComponent.getFileHandler();
         OutputStream stream = null;
         try {
-            stream = dataObject.getPrimaryFile().getOutputStream();
+            stream = primaryFile.getOutputStream();
             if (stream != null) {
                 fileHandler.saveToStream(stream);
             }
@@ -250,6 +434,7 @@ public class BinEdEditor extends CloneableEditor implements MultiViewElement, He
                 }
             }
         }
+        fileReloader.fileSynced(primaryFile);
         fileHandler.fileSync();
         editorComponent.updateStatus();
     }
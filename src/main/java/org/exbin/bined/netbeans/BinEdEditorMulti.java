@@ -20,6 +20,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jspecify.annotations.NullMarked;
 import org.exbin.bined.netbeans.options.IntegrationOptions;
+import org.exbin.bined.netbeans.utils.LayerRegistrationManager;
 import org.netbeans.api.editor.mimelookup.MimeLookup;
 import org.netbeans.core.spi.multiview.MultiViewElement;
 import org.openide.filesystems.FileObject;
@@ -53,6 +54,19 @@ public class BinEdEditorMulti extends BinEdEditor implements MultiViewElement {
     private static final String ELEMENT_INSTANCE = "Editors/" + FAKE_MIME_TYPE + "/" + MULTIVIEW_FOLDER + "/" + ELEMENT_MULTI_NAME + ".instance";
     private static final String SHADOW_EXT = "shadow";
     private static final String ORIGINAL_FILE_ATTRIBUTE = "originalFile";
+    private static final String MULTIVIEW_PATCHED_KEY = "multiviewPatchedTypes";
+
+    private static final LayerRegistrationManager MULTIVIEW_REGISTRATION = new LayerRegistrationManager(EDITORS_FOLDER, MULTIVIEW_PATCHED_KEY, new LayerRegistrationManager.FolderRegistrar() {
+        @Override
+        public boolean install(FileObject typeFolder) {
+            return installForFolder(typeFolder);
+        }
+
+        @Override
+        public void uninstall(FileObject typeFolder) {
+            uninstallForFolder(typeFolder);
+        }
+    });
 
     public BinEdEditorMulti(Lookup lookup) {
         super(lookup);
@@ -77,64 +91,64 @@ public class BinEdEditorMulti extends BinEdEditor implements MultiViewElement {
     }
 
     public static void install() {
-        final FileObject editors = FileUtil.getConfigFile(EDITORS_FOLDER);
-        for (FileObject mimeType : editors.getChildren()) {
-            String type = mimeType.getName();
-            for (FileObject mimeSubType : mimeType.getChildren()) {
-                String subType = mimeSubType.getName();
-                String fullMimeType = type + "/" + subType;
-                if (FAKE_MIME_TYPE.equals(fullMimeType) || BinEdDataObject.MIME_TYPE.equals(fullMimeType)) {
-                    continue;
-                }
+        MULTIVIEW_REGISTRATION.install();
+    }
 
-                try {
-                    Lookup mimeLookup = MimeLookup.getLookup(fullMimeType);
-                    if (mimeLookup != null) {
-                        installForMimeType(mimeSubType, type, subType);
-                    }
-                } catch (IllegalArgumentException ex) {
-                    // not a valid MIME type
-                }
+    public static void uninstall() {
+        MULTIVIEW_REGISTRATION.uninstall();
+    }
+
+    private static boolean installForFolder(FileObject mimeSubType) {
+        FileObject mimeType = mimeSubType.getParent();
+        String type = mimeType.getName();
+        String subType = mimeSubType.getName();
+        String fullMimeType = type + "/" + subType;
+        if (FAKE_MIME_TYPE.equals(fullMimeType) || BinEdDataObject.MIME_TYPE.equals(fullMimeType)) {
+            return false;
+        }
+
+        try {
+            Lookup mimeLookup = MimeLookup.getLookup(fullMimeType);
+            if (mimeLookup != null) {
+                return installForMimeType(mimeSubType, type, subType);
             }
+        } catch (IllegalArgumentException ex) {
+            // not a valid MIME type
         }
+        return false;
     }
 
-    public static void uninstall() {
-        final FileObject editors = FileUtil.getConfigFile(EDITORS_FOLDER);
-        for (FileObject mimeType : editors.getChildren()) {
-            String type = mimeType.getName();
-            for (FileObject mimeSubType : mimeType.getChildren()) {
-                String subType = mimeSubType.getName();
-                if (BinEdDataObject.MIME_TYPE.equals(type + "/" + subType)) {
-                    continue;
-                }
+    private static void uninstallForFolder(FileObject mimeSubType) {
+        String type = mimeSubType.getParent().getName();
+        String subType = mimeSubType.getName();
+        if (BinEdDataObject.MIME_TYPE.equals(type + "/" + subType)) {
+            return;
+        }
 
-                FileObject multiViewFolder = mimeSubType.getFileObject(MULTIVIEW_FOLDER);
-                if (multiViewFolder == null) {
-                    continue;
-                }
+        FileObject multiViewFolder = mimeSubType.getFileObject(MULTIVIEW_FOLDER);
+        if (multiViewFolder == null) {
+            return;
+        }
 
-                FileObject elementRecord = multiViewFolder.getFileObject(ELEMENT_MULTI_NAME, SHADOW_EXT);
-                if (elementRecord != null) {
-                    try {
-                        elementRecord.delete();
-                        multiViewFolder.refresh();
-                    } catch (IOException ex) {
-                        Logger.getLogger(BinEdEditorMulti.class.getName()).log(Level.SEVERE, null, ex);
-                    }
-                }
+        FileObject elementRecord = multiViewFolder.getFileObject(ELEMENT_MULTI_NAME, SHADOW_EXT);
+        if (elementRecord != null) {
+            try {
+                elementRecord.delete();
+                multiViewFolder.refresh();
+            } catch (IOException ex) {
+                Logger.getLogger(BinEdEditorMulti.class.getName()).log(Level.SEVERE, null, ex);
             }
         }
     }
 
-    private static void installForMimeType(FileObject fileType, String mimeType, String mimeSubType) {
+    private static boolean installForMimeType(FileObject fileType, String mimeType, String mimeSubType) {
         if (!fileType.isFolder()) {
-            return;
+            return false;
         }
 
         // It seems that NetBeans registers types with -nb postfix for dynamically loaded plugins
         if (mimeType.endsWith(DYNAMIC_FILETYPE_PREFIX) || BinEdDataObject.MIME_TYPE.equals(mimeType + "/" + mimeSubType)) {
-            return;
+            return false;
         }
 
         try {
@@ -151,10 +165,12 @@ public class BinEdEditorMulti extends BinEdEditor implements MultiViewElement {
                 record.setAttribute("persistenceType", TopComponent.PERSISTENCE_NEVER);
                 multiViewFolder.refresh();
             }
+            return true;
         } catch (IOException ex) {
             Logger.getLogger(BinEdEditorMulti.class.getName()).log(Level.SEVERE, null, ex);
         } catch (SecurityException ex) {
             Logger.getLogger(BinEdEditorMulti.class.getName()).log(Level.SEVERE, null, ex);
         }
+        return false;
     }
 }
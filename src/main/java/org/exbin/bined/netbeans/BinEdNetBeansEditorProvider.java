@@ -21,15 +21,18 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jspecify.annotations.Nullable;
 import org.jspecify.annotations.NullMarked;
 import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
 import org.exbin.auxiliary.binary_data.delta.DeltaDocument;
 import org.exbin.bined.CodeAreaCaretPosition;
 import org.exbin.bined.EditMode;
 import org.exbin.bined.EditOperation;
 import org.exbin.bined.SelectionRange;
 import org.exbin.bined.capability.EditModeCapable;
+import org.exbin.bined.netbeans.main.SharedDocumentRegistry;
 import org.exbin.bined.swing.section.SectCodeArea;
 import org.exbin.jaguif.App;
 import org.exbin.jaguif.action.api.ActiveComponent;
@@ -59,7 +62,13 @@ import org.exbin.jaguif.options.api.OptionsModuleApi;
 @NullMarked
 public class BinEdNetBeansEditorProvider implements MultiEditorProvider, BinEdEditorProvider {
 
+    private static final int UPDATE_DATA = 1;
+    private static final int UPDATE_SELECTION = 2;
+    private static final int UPDATE_CARET = 4;
+    private static final int UPDATE_EDIT_MODE = 8;
+
     protected final List<FileHandler> fileHandlers = new ArrayList<>();
+    private final AtomicInteger pendingStatusUpdates = new AtomicInteger();
 
     @Nullable
     protected BinEdFileHandler activeFile = null;
@@ -128,21 +137,19 @@ public class BinEdNetBeansEditorProvider implements MultiEditorProvider, BinEdEd
 
         SectCodeArea codeArea = fileHandler.getCodeArea();
         codeArea.addDataChangedListener(() -> {
-            activeFile.getComponent().notifyDataChanged();
-            updateCurrentDocumentSize();
+            requestStatusUpdate(UPDATE_DATA);
         });
 
         codeArea.addSelectionChangedListener(() -> {
-            binaryStatus.setSelectionRange(codeArea.getSelection());
-            updateClipboardActionsStatus();
+            requestStatusUpdate(UPDATE_SELECTION);
         });
 
         codeArea.addCaretMovedListener((CodeAreaCaretPosition caretPosition) -> {
-            binaryStatus.setCursorPosition(caretPosition);
+            requestStatusUpdate(UPDATE_CARET);
         });
 
         codeArea.addEditModeChangedListener((EditMode mode, EditOperation operation) -> {
-            binaryStatus.setEditMode(mode, operation);
+            requestStatusUpdate(UPDATE_EDIT_MODE);
         });
 
         EditorModuleApi editorModule = App.getModule(EditorModuleApi.class);
@@ -312,6 +319,61 @@ public class BinEdNetBeansEditorProvider implements MultiEditorProvider, BinEdEd
         }
     }
 
+    /**
+     * Schedules update of the status for active file.
+     * <p>
+     * Updates requested until scheduled update is performed are coalesced, so
+     * that bulk operations don't update status for each change.
+     *
+     * @param updates flags of requested updates
+     */
+    private void requestStatusUpdate(int updates) {
+        int previousUpdates = pendingStatusUpdates.getAndAccumulate(updates, (int pending, int requested) -> pending | requested);
+        if (previousUpdates == 0) {
+            SwingUtilities.invokeLater(this::performStatusUpdates);
+        }
+    }
+
+    private void performStatusUpdates() {
+        int updates = pendingStatusUpdates.getAndSet(0);
+        if (activeFile == null) {
+            return;
+        }
+
+        if ((updates & UPDATE_DATA) != 0) {
+            activeFile.getComponent().notifyDataChanged();
+            updateCurrentDocumentSize();
+        }
+        if ((updates & UPDATE_SELECTION) != 0) {
+            updateCurrentSelectionRange();
+            updateClipboardActionsStatus();
+        }
+        if ((updates & UPDATE_CARET) != 0) {
+            updateCurrentCaretPosition();
+        }
+        if ((updates & UPDATE_EDIT_MODE) != 0) {
+            updateCurrentEditMode();
+        }
+    }
+
+    /**
+     * Updates memory mode status after content data of file were switched to
+     * different processing mode.
+     *
+     * @param fileHandler file handler
+     */
+    public void notifyMemoryModeChanged(BinEdFileHandler fileHandler) {
+        if (activeFile == null) {
+            return;
+        }
+
+        SharedDocumentRegistry documentRegistry = SharedDocumentRegistry.getInstance();
+        if (documentRegistry.getDocumentHandler(activeFile) == documentRegistry.getDocumentHandler(fileHandler)) {
+            updateCurrentMemoryMode();
+            updateCurrentDocumentSize();
+        }
+    }
+
     private void updateCurrentDocumentSize() {
         if (binaryStatus == null) {
             return;
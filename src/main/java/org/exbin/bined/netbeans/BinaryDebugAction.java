@@ -20,46 +20,59 @@ import java.awt.Dialog;
 import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.ResourceBundle;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.jspecify.annotations.Nullable;
 import org.jspecify.annotations.NullMarked;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import org.exbin.bined.jaguif.objectdata.PageProvider;
+import org.exbin.bined.netbeans.debug.DebugSnapshotCache;
 import org.exbin.bined.netbeans.debug.DebugViewData;
 import org.exbin.bined.netbeans.debug.array.BooleanArrayPageProvider;
+import org.exbin.bined.netbeans.debug.array.BoxedArrayPageProvider;
 import org.exbin.bined.netbeans.debug.array.ByteArrayPageProvider;
 import org.exbin.bined.netbeans.debug.array.CharArrayPageProvider;
+import org.exbin.bined.netbeans.debug.array.DirectByteBufferPageProvider;
 import org.exbin.bined.netbeans.debug.array.DoubleArrayPageProvider;
 import org.exbin.bined.netbeans.debug.array.FloatArrayPageProvider;
 import org.exbin.bined.netbeans.debug.array.IntegerArrayPageProvider;
 import org.exbin.bined.netbeans.debug.array.LongArrayPageProvider;
 import org.exbin.bined.netbeans.debug.array.ShortArrayPageProvider;
 import org.exbin.bined.netbeans.debug.gui.DebugViewPanel;
-import org.exbin.bined.jaguif.inspector.gui.BasicValuesPanel;
 import org.exbin.jaguif.utils.WindowUtils;
 import org.exbin.jaguif.window.api.gui.CloseControlPanel;
 import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.auxiliary.binary_data.array.ByteArrayData;
 import org.exbin.bined.netbeans.debug.DebugViewDataProvider;
 import org.exbin.bined.netbeans.debug.DefaultDebugViewDataProvider;
+import org.exbin.bined.netbeans.options.IntegrationOptions;
 import org.exbin.jaguif.App;
 import org.exbin.jaguif.language.api.LanguageModuleApi;
 import org.exbin.jaguif.options.api.OptionsStorage;
 import org.exbin.jaguif.options.api.OptionsModuleApi;
 import org.exbin.jaguif.window.api.WindowHandler;
 import org.exbin.jaguif.window.api.WindowModuleApi;
+import org.netbeans.api.debugger.DebuggerEngine;
+import org.netbeans.api.debugger.DebuggerManager;
 import org.netbeans.api.debugger.jpda.ClassVariable;
 import org.netbeans.api.debugger.jpda.Field;
 import org.netbeans.api.debugger.jpda.JPDAArrayType;
 import org.netbeans.api.debugger.jpda.JPDAClassType;
+import org.netbeans.api.debugger.jpda.JPDADebugger;
 import org.netbeans.api.debugger.jpda.ObjectVariable;
 import org.netbeans.api.debugger.jpda.Variable;
 import org.netbeans.spi.debugger.ContextProvider;
 import org.openide.awt.ActionID;
 import org.openide.awt.ActionRegistration;
 import org.openide.util.NbPreferences;
+import org.openide.util.RequestProcessor;
 import org.openide.windows.Mode;
 import org.openide.windows.TopComponent;
 import org.openide.windows.WindowManager;
@@ -82,8 +95,9 @@ public final class BinaryDebugAction implements ActionListener {
 
     public static final String PREFERENCES_NAME = "variables_view"; // NOI18N
 
-    private static final byte[] valuesCache = new byte[8];
-    private static final ByteBuffer byteBuffer = ByteBuffer.wrap(valuesCache);
+    private static final String STRING_CLASS_NAME = "java.lang.String";
+    private static final String BYTE_BUFFER_CLASS_NAME = "java.nio.ByteBuffer";
+    private static final RequestProcessor RESOLVE_RP = new RequestProcessor("BinEd debug variable", 1); // NOI18N
 
     public BinaryDebugAction() {
     }
@@ -126,6 +140,62 @@ public final class BinaryDebugAction implements ActionListener {
         JPanel dialogPanel = windowModule.createDialogPanel(debugViewPanel, controlPanel);
         WindowHandler dialog = windowModule.createDialog(parent, Dialog.ModalityType.APPLICATION_MODAL, dialogPanel);
         windowModule.setWindowTitle(dialog, resourceBundle);
+        ByteOrder byteOrder = getDebugByteOrder();
+
+        // Variable is resolved in background and fetching of data starts right away
+        // (Throws java.lang.AssertionError: Debugger communication in AWT Event Queue!)
+        RESOLVE_RP.post(() -> {
+            List<DebugViewDataProvider> providers = new ArrayList<>();
+            BinaryData frozenData = null;
+            try {
+                frozenData = resolveProviders(variableObject, byteOrder, providers);
+            } catch (RuntimeException ex) {
+                Logger.getLogger(BinaryDebugAction.class.getName()).log(Level.SEVERE, null, ex);
+            }
+
+            List<DebugViewPanel.ProviderLoading> loadings = new ArrayList<>();
+            for (DebugViewDataProvider provider : providers) {
+                loadings.add(DebugViewPanel.startLoading(provider));
+            }
+
+            BinaryData finalFrozenData = frozenData;
+            SwingUtilities.invokeLater(() -> {
+                if (!debugViewPanel.isDisplayable()) {
+                    for (DebugViewPanel.ProviderLoading loading : loadings) {
+                        loading.cancel();
+                    }
+                    return;
+                }
+
+                for (DebugViewPanel.ProviderLoading loading : loadings) {
+                    debugViewPanel.addProvider(loading);
+                }
+                if (finalFrozenData != null) {
+                    debugViewPanel.setFrozenSnapshot(finalFrozenData);
+                }
+            });
+        });
+
+        controlPanel.setController(() -> {
+            dialog.close();
+        });
+        dialog.show();
+    }
+
+    /**
+     * Resolves data providers for the variable.
+     * <p>
+     * Communicates with debugger, must not be called from event dispatch
+     * thread.
+     *
+     * @param variableObject variable
+     * @param byteOrder byte order
+     * @param providers list to add providers to
+     * @return frozen snapshot of the variable or null
+     */
+    @Nullable
+    private static BinaryData resolveProviders(Object variableObject, ByteOrder byteOrder, List<DebugViewDataProvider> providers) {
+        BinaryData frozenData = null;
         BinaryData data;
         if (variableObject instanceof ObjectVariable) {
             JPDAClassType classType = ((ObjectVariable) variableObject).getClassType();
@@ -133,23 +203,34 @@ public final class BinaryDebugAction implements ActionListener {
 //            JPDAClassType reflectedType = classObject.getReflectedType();
 
             if (classObject instanceof JPDAArrayType) {
-                data = processArrayValue((ObjectVariable) variableObject, (JPDAArrayType) classObject);
+                data = processArrayValue((ObjectVariable) variableObject, (JPDAArrayType) classObject, byteOrder);
                 if (data != null) {
-                    debugViewPanel.addProvider(new DefaultDebugViewDataProvider("binary sequence from array", data));
+                    providers.add(new DefaultDebugViewDataProvider("binary sequence from array", data));
+                    frozenData = findFrozenSnapshot((ObjectVariable) variableObject);
                 }
             } else if (classObject != null && classObject.getReflectedType() instanceof JPDAArrayType) {
-                data = processArrayValue((ObjectVariable) variableObject, (JPDAArrayType) classObject.getReflectedType());
+                data = processArrayValue((ObjectVariable) variableObject, (JPDAArrayType) classObject.getReflectedType(), byteOrder);
                 if (data != null) {
-                    debugViewPanel.addProvider(new DefaultDebugViewDataProvider("native binary sequence from array", data));
+                    providers.add(new DefaultDebugViewDataProvider("native binary sequence from array", data));
+                    frozenData = findFrozenSnapshot((ObjectVariable) variableObject);
                 }
             } else if (classType instanceof JPDAArrayType) {
-// TODO support for java.lang.*[] wrappers for native types
-// (Throws java.lang.AssertionError: Debugger communication in AWT Event Queue!)
-//                data = processArrayValue((ObjectVariable) variableObject, (JPDAArrayType) classType);
-//                if (data != null) {
-//                    fallback = false;
-//                    debugViewPanel.setData(data);
-//                }
+                data = processArrayValue((ObjectVariable) variableObject, (JPDAArrayType) classType, byteOrder);
+                if (data != null) {
+                    providers.add(new DefaultDebugViewDataProvider("binary sequence from array", data));
+                    frozenData = findFrozenSnapshot((ObjectVariable) variableObject);
+                }
+            } else if (classType != null && STRING_CLASS_NAME.equals(classType.getName())) {
+                data = processStringValue((ObjectVariable) variableObject, byteOrder);
+                if (data != null) {
+                    providers.add(new DefaultDebugViewDataProvider("binary sequence from string", data));
+                }
+            } else if (classType != null && isSubclassOf(classType, BYTE_BUFFER_CLASS_NAME)) {
+                data = processByteBufferValue((ObjectVariable) variableObject);
+                if (data != null) {
+                    providers.add(new DefaultDebugViewDataProvider("binary sequence from buffer", data));
+                    frozenData = findFrozenSnapshot((ObjectVariable) variableObject);
+                }
             } else {
                 // classObject.getToStringValue();
 // TODO support for java.lang.* wrappers for native types
@@ -157,7 +238,7 @@ public final class BinaryDebugAction implements ActionListener {
 //                if (fieldsCount == 1) {
 //                    Field[] fields = ((ObjectVariable) variableObject).getFields(0, 0);
 //                    Field field = fields[0];
-//                    data = processSimpleValue(field.getDeclaredType(), ((ObjectVariable) variableObject).getValue());
+//                    data = processSimpleValue(field.getDeclaredType(), ((ObjectVariable) variableObject).getValue(), byteOrder);
 //                    if (data != null) {
 //                        fallback = false;
 //                        debugViewPanel.setData(data);
@@ -167,15 +248,29 @@ public final class BinaryDebugAction implements ActionListener {
         }
 
         if (variableObject instanceof Variable) {
-            String variableValue = ((Variable) variableObject).getValue();
-            String variableType = ((Variable) variableObject).getType();
-            data = processSimpleValue(variableType, variableValue);
-            if (data != null) {
-                debugViewPanel.addProvider(new DefaultDebugViewDataProvider("binary value", data));
+            Variable variable = (Variable) variableObject;
+            String variableType = variable.getType();
+            if (isSimpleValueType(variableType)) {
+                providers.add(new DebugViewDataProvider() {
+                    @Override
+                    public String getName() {
+                        return "binary value";
+                    }
+
+                    @Override
+                    public BinaryData getData() {
+                        BinaryData valueData = processSimpleValue(variableType, variable.getValue(), byteOrder);
+                        return valueData != null ? valueData : new ByteArrayData();
+                    }
+
+                    @Override
+                    public long getDataSize() {
+                        return getSimpleValueSize(variableType);
+                    }
+                });
             }
 
-            final String value = ((Variable) variableObject).getValue();
-            debugViewPanel.addProvider(new DebugViewDataProvider() {
+            providers.add(new DebugViewDataProvider() {
                 @Override
                 public String getName() {
                     return "toString()";
@@ -183,6 +278,7 @@ public final class BinaryDebugAction implements ActionListener {
 
                 @Override
                 public BinaryData getData() {
+                    String value = variable.getValue();
                     if (value != null) {
                         return new ByteArrayData(value.getBytes(Charset.defaultCharset()));
                     } else {
@@ -192,14 +288,33 @@ public final class BinaryDebugAction implements ActionListener {
             });
         }
 
-        controlPanel.setController(() -> {
-            dialog.close();
-        });
-        dialog.show();
+        return frozenData;
+    }
+
+    private static boolean isSimpleValueType(String variableType) {
+        return getSimpleValueSize(variableType) >= 0 || "string".equals(variableType);
+    }
+
+    private static long getSimpleValueSize(String variableType) {
+        switch (variableType) {
+            case "byte":
+                return 1;
+            case "short":
+            case "char":
+                return 2;
+            case "int":
+            case "float":
+                return 4;
+            case "long":
+            case "double":
+                return 8;
+        }
+
+        return -1;
     }
 
     @Nullable
-    private static BinaryData processSimpleValue(String variableType, String variableValue) {
+    private static BinaryData processSimpleValue(String variableType, String variableValue, ByteOrder byteOrder) {
         switch (variableType) {
             case "byte": {
                 byte[] byteArray = new byte[1];
@@ -209,54 +324,33 @@ public final class BinaryDebugAction implements ActionListener {
             }
             case "short": {
                 byte[] byteArray = new byte[2];
-                short value = Short.parseShort(variableValue);
-                byteArray[0] = (byte) (value >> 8);
-                byteArray[1] = (byte) (value & 0xff);
+                ByteBuffer.wrap(byteArray).order(byteOrder).putShort(Short.parseShort(variableValue));
                 return new ByteArrayData(byteArray);
             }
             case "int": {
                 byte[] byteArray = new byte[4];
-                int value = Integer.parseInt(variableValue);
-                byteArray[0] = (byte) (value >> 24);
-                byteArray[1] = (byte) ((value >> 16) & 0xff);
-                byteArray[2] = (byte) ((value >> 8) & 0xff);
-                byteArray[3] = (byte) (value & 0xff);
+                ByteBuffer.wrap(byteArray).order(byteOrder).putInt(Integer.parseInt(variableValue));
                 return new ByteArrayData(byteArray);
             }
             case "long": {
                 byte[] byteArray = new byte[8];
-                long value = Long.parseLong(variableValue);
-                BigInteger bigInteger = BigInteger.valueOf(value);
-                for (int bit = 0; bit < 7; bit++) {
-                    BigInteger nextByte = bigInteger.and(BasicValuesPanel.BIG_INTEGER_BYTE_MASK);
-                    byteArray[7 - bit] = nextByte.byteValue();
-                    bigInteger = bigInteger.shiftRight(8);
-                }
+                ByteBuffer.wrap(byteArray).order(byteOrder).putLong(Long.parseLong(variableValue));
                 return new ByteArrayData(byteArray);
             }
             case "float": {
                 byte[] byteArray = new byte[4];
-                float value = Float.parseFloat(variableValue);
-                byteBuffer.rewind();
-                byteBuffer.putFloat(value);
-                System.arraycopy(valuesCache, 0, byteArray, 0, 4);
+                ByteBuffer.wrap(byteArray).order(byteOrder).putFloat(Float.parseFloat(variableValue));
                 return new ByteArrayData(byteArray);
             }
             case "double": {
                 byte[] byteArray = new byte[8];
-                double value = Double.parseDouble(variableValue);
-                byteBuffer.rewind();
-                byteBuffer.putDouble(value);
-                System.arraycopy(valuesCache, 0, byteArray, 0, 8);
+                ByteBuffer.wrap(byteArray).order(byteOrder).putDouble(Double.parseDouble(variableValue));
                 return new ByteArrayData(byteArray);
             }
             case "char": {
                 if (variableValue.length() == 3) {
                     byte[] byteArray = new byte[2];
-                    char value = variableValue.charAt(1);
-                    byteBuffer.rewind();
-                    byteBuffer.putChar(value);
-                    System.arraycopy(valuesCache, 0, byteArray, 0, 2);
+                    ByteBuffer.wrap(byteArray).order(byteOrder).putChar(variableValue.charAt(1));
                     return new ByteArrayData(byteArray);
                 }
 
@@ -273,41 +367,120 @@ public final class BinaryDebugAction implements ActionListener {
     }
 
     @Nullable
-    private static BinaryData processArrayValue(ObjectVariable variableObject, JPDAArrayType arrayType) {
-        String type = arrayType.getComponentTypeName();
+    private static BinaryData processArrayValue(ObjectVariable variableObject, JPDAArrayType arrayType, ByteOrder byteOrder) {
+        PageProvider pageProvider = createArrayPageProvider(variableObject, arrayType.getComponentTypeName(), byteOrder);
+        if (pageProvider == null) {
+            return null;
+        }
+
+        return createDebugViewData(variableObject, pageProvider);
+    }
+
+    /**
+     * Provides content of backing array of the string.
+     * <p>
+     * Byte array with coder is used since Java 9, char array before.
+     */
+    @Nullable
+    private static BinaryData processStringValue(ObjectVariable stringObject, ByteOrder byteOrder) {
+        Field valueField = stringObject.getField("value");
+        if (!(valueField instanceof ObjectVariable) || "null".equals(valueField.getValue())) {
+            return null;
+        }
+
+        switch (valueField.getType()) {
+            case "byte[]": {
+                return createDebugViewData(stringObject, new ByteArrayPageProvider((ObjectVariable) valueField));
+            }
+            case "char[]": {
+                return createDebugViewData(stringObject, new CharArrayPageProvider((ObjectVariable) valueField, byteOrder));
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Provides content of the byte buffer from its capacity range.
+     * <p>
+     * Heap buffers are read from backing array, direct buffers are read using
+     * method invocation in debugged virtual machine.
+     */
+    @Nullable
+    private static BinaryData processByteBufferValue(ObjectVariable bufferObject) {
+        int capacity = getIntFieldValue(bufferObject, "capacity");
+        if (capacity < 0) {
+            return null;
+        }
+
+        PageProvider pageProvider;
+        Field backingArrayField = bufferObject.getField("hb");
+        if (backingArrayField instanceof ObjectVariable && !"null".equals(backingArrayField.getValue())) {
+            int offset = Math.max(getIntFieldValue(bufferObject, "offset"), 0);
+            pageProvider = new ByteArrayPageProvider((ObjectVariable) backingArrayField, offset, capacity);
+        } else {
+            JPDADebugger debugger = getCurrentDebugger();
+            if (debugger == null) {
+                return null;
+            }
+            pageProvider = new DirectByteBufferPageProvider(bufferObject, debugger, capacity);
+        }
+
+        return createDebugViewData(bufferObject, pageProvider);
+    }
+
+    private static DebugViewData createDebugViewData(ObjectVariable variableObject, PageProvider pageProvider) {
+        DebugViewData data = new DebugViewData(pageProvider, getPageCacheCapacity());
+        DebugSnapshotCache snapshotCache = DebugSnapshotCache.getCurrent();
+        if (snapshotCache != null) {
+            data.setSnapshot(snapshotCache.getSnapshot(variableObject.getUniqueID(), pageProvider.getDocumentSize(), data.getPageCache().getCapacity()));
+        }
+        return data;
+    }
+
+    @Nullable
+    private static PageProvider createArrayPageProvider(ObjectVariable variableObject, String type, ByteOrder byteOrder) {
         switch (type) {
             case "boolean": {
-                return new DebugViewData(new BooleanArrayPageProvider(variableObject));
+                return new BooleanArrayPageProvider(variableObject);
             }
-//            case "java.lang.Byte": {
-//                loadChildValues(variableObject);
-//            }
             case "byte": {
-                return new DebugViewData(new ByteArrayPageProvider(variableObject));
+                return new ByteArrayPageProvider(variableObject);
             }
             case "short": {
-                return new DebugViewData(new ShortArrayPageProvider(variableObject));
+                return new ShortArrayPageProvider(variableObject, byteOrder);
             }
             case "int": {
-                return new DebugViewData(new IntegerArrayPageProvider(variableObject));
+                return new IntegerArrayPageProvider(variableObject, byteOrder);
             }
             case "long": {
-                return new DebugViewData(new LongArrayPageProvider(variableObject));
+                return new LongArrayPageProvider(variableObject, byteOrder);
             }
             case "float": {
-                return new DebugViewData(new FloatArrayPageProvider(variableObject));
+                return new FloatArrayPageProvider(variableObject, byteOrder);
             }
             case "double": {
-                return new DebugViewData(new DoubleArrayPageProvider(variableObject));
+                return new DoubleArrayPageProvider(variableObject, byteOrder);
             }
             case "char": {
-                return new DebugViewData(new CharArrayPageProvider(variableObject));
+                return new CharArrayPageProvider(variableObject, byteOrder);
             }
         }
 
+        BoxedArrayPageProvider.BoxedType boxedType = BoxedArrayPageProvider.BoxedType.findByClassName(type);
+        if (boxedType != null) {
+            return new BoxedArrayPageProvider(variableObject, boxedType, byteOrder);
+        }
+
         return null;
     }
 
+    @Nullable
+    private static BinaryData findFrozenSnapshot(ObjectVariable variableObject) {
+        DebugSnapshotCache snapshotCache = DebugSnapshotCache.getCurrent();
+        return snapshotCache == null ? null : snapshotCache.getFrozenSnapshot(variableObject.getUniqueID());
+    }
+
     private static void loadChildValues(ObjectVariable variableObject) {
         int fieldsCount = variableObject.getFieldsCount();
         for (int i = 0; i < fieldsCount; i++) {
@@ -345,6 +518,47 @@ public final class BinaryDebugAction implements ActionListener {
         return view;
     }
 
+    private static int getIntFieldValue(ObjectVariable variableObject, String fieldName) {
+        Field field = variableObject.getField(fieldName);
+        if (field == null) {
+            return -1;
+        }
+
+        try {
+            return Integer.parseInt(field.getValue());
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private static boolean isSubclassOf(JPDAClassType classType, String className) {
+        JPDAClassType type = classType;
+        while (type != null) {
+            if (className.equals(type.getName())) {
+                return true;
+            }
+            type = type.getSuperClass();
+        }
+
+        return false;
+    }
+
+    @Nullable
+    private static JPDADebugger getCurrentDebugger() {
+        DebuggerEngine engine = DebuggerManager.getDebuggerManager().getCurrentEngine();
+        return engine == null ? null : engine.lookupFirst(null, JPDADebugger.class);
+    }
+
+    private static int getPageCacheCapacity() {
+        OptionsModuleApi optionsModule = App.getModule(OptionsModuleApi.class);
+        return new IntegrationOptions(optionsModule.getAppOptions()).getPageCacheCapacity();
+    }
+
+    private static ByteOrder getDebugByteOrder() {
+        OptionsModuleApi optionsModule = App.getModule(OptionsModuleApi.class);
+        return new IntegrationOptions(optionsModule.getAppOptions()).isDebugLittleEndian() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+    }
+
     public static boolean isWatchesViewNested() {
         OptionsModuleApi optionsModule = App.getModule(OptionsModuleApi.class);
         // java.util.prefs.Preferences preferences = NbPreferences.forModule(ContextProvider.class).node(PREFERENCES_NAME); // NOI18N
@@ -16,35 +16,50 @@
 package org.exbin.bined.netbeans;
 
 import java.awt.BorderLayout;
+import java.awt.event.ActionEvent;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
-import java.net.URI;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import javax.swing.AbstractAction;
+import javax.swing.Action;
 import javax.swing.SwingUtilities;
+import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.bined.EditMode;
+import org.exbin.bined.operation.BinaryDataUndoRedoChangeListener;
 import org.exbin.bined.netbeans.gui.BinEdFilePanel;
+import org.exbin.bined.netbeans.main.BinEdFileDataWrapper;
 import org.exbin.bined.netbeans.main.BinaryUndoSwingHandler;
+import org.exbin.bined.netbeans.main.MemoryBudgetGovernor;
+import org.exbin.bined.netbeans.main.SharedDocumentRegistry;
 import org.exbin.bined.swing.section.SectCodeArea;
 import org.exbin.jaguif.App;
 import org.exbin.bined.jaguif.BinEdFileHandler;
 import org.exbin.bined.jaguif.BinedModule;
 import org.exbin.bined.jaguif.component.UndoRedoWrapper;
+import org.exbin.bined.jaguif.document.FileProcessingMode;
 import org.exbin.bined.jaguif.editor.options.BinaryEditorOptions;
 import org.exbin.bined.jaguif.gui.BinaryStatusPanel;
 import org.exbin.jaguif.file.api.FileModuleApi;
 import org.exbin.jaguif.options.api.OptionsStorage;
 import org.exbin.jaguif.options.api.OptionsModuleApi;
 import org.netbeans.api.settings.ConvertAsProperties;
+import org.exbin.bined.netbeans.options.IntegrationOptions;
+import org.exbin.bined.netbeans.utils.StartupProfiler;
+import org.openide.awt.StatusDisplayer;
 import org.openide.awt.UndoRedo;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
 import org.openide.loaders.DataObject;
 import org.openide.nodes.Node;
 import org.openide.util.NbBundle;
-import org.openide.util.Utilities;
+import org.openide.util.RequestProcessor;
 import org.openide.util.lookup.AbstractLookup;
 import org.openide.util.lookup.InstanceContent;
 import org.openide.windows.TopComponent;
@@ -62,21 +77,36 @@ public final class BinaryEditorTopComponent extends TopComponent implements Seri
 
     private static final String BINARY_EDITOR_TOP_COMPONENT_STRING = "CTL_BinaryEditorTopComponent";
     private static final String BINARY_EDITOR_TOP_COMPONENT_HINT_STRING = "HINT_BinaryEditorTopComponent";
+    private static final String FOLLOW_FILE_ACTION_STRING = "CTL_FollowFileAction";
+    private static final String STOP_FOLLOWING_ACTION_STRING = "CTL_StopFollowingAction";
+    private static final String FOLLOW_THROUGHPUT_STRING = "MSG_FollowThroughput";
+    private static final int FOLLOW_INTERVAL = 500;
+    private static final RequestProcessor FOLLOW_RP = new RequestProcessor("BinEd follow", 1); // NOI18N
 
     private DataObject dataObject;
     private final InstanceContent content = new InstanceContent();
 
     private final BinEdFilePanel filePanel;
     private final BinEdFileHandler fileHandler;
-    private final BinaryUndoSwingHandler undoHandler;
+    private final BinaryUndoSwingHandler ownUndoHandler;
+    private BinaryUndoSwingHandler undoHandler;
+    private final BinaryDataUndoRedoChangeListener undoChangeListener = () -> {
+        updateModified();
+    };
 
     private final BinaryEditorNode node;
 
     private final BinaryEditorTopComponentSavable savable;
     private boolean opened = false;
     protected String displayName;
+    @Nullable
+    private volatile BinEdFileDataWrapper followedData = null;
+    @Nullable
+    private volatile RequestProcessor.Task followTask = null;
+    private long followTimestamp;
 
     public BinaryEditorTopComponent() {
+        long startTime = System.nanoTime();
         initComponents();
 
         node = new BinaryEditorNode(this);
@@ -86,7 +116,8 @@ public final class BinaryEditorTopComponent extends TopComponent implements Seri
         BinedModule binedModule = App.getModule(BinedModule.class);
         binedModule.getFileManager().initFileHandler(fileHandler);
 
-        undoHandler = new BinaryUndoSwingHandler(fileHandler.getCodeArea(), new UndoRedo.Manager());
+        ownUndoHandler = new BinaryUndoSwingHandler(fileHandler.getCodeArea(), new UndoRedo.Manager());
+        undoHandler = ownUndoHandler;
         ((UndoRedoWrapper) fileHandler.getUndoRedo().get()).setUndoRedo(undoHandler);
         fileHandler.getComponent().setUndoRedo(undoHandler);
         // Setting undo handler resets command handler so let's reiniciate - rework later
@@ -102,14 +133,16 @@ public final class BinaryEditorTopComponent extends TopComponent implements Seri
         setName(NbBundle.getMessage(BinaryEditorTopComponent.class, BINARY_EDITOR_TOP_COMPONENT_STRING));
         setToolTipText(NbBundle.getMessage(BinaryEditorTopComponent.class, BINARY_EDITOR_TOP_COMPONENT_HINT_STRING));
 
-        undoHandler.addChangeListener(() -> {
-            updateModified();
-        });
+        undoHandler.addChangeListener(undoChangeListener);
 
         OptionsModuleApi optionsModule = App.getModule(OptionsModuleApi.class);
         filePanel.loadFromOptions(optionsModule.getAppOptions());
 
         associateLookup(new AbstractLookup(content));
+
+        if (StartupProfiler.record("BinaryEditorTopComponent.<init>", startTime)) {
+            StartupProfiler.logSummary();
+        }
     }
 
     public void openDataObject(DataObject dataObject) {
@@ -124,7 +157,9 @@ public final class BinaryEditorTopComponent extends TopComponent implements Seri
 
     @Override
     public boolean canClose() {
-        if (!fileHandler.isModified()) {
+        // Data stay available in other views of the same file
+        SharedDocumentRegistry documentRegistry = SharedDocumentRegistry.getInstance();
+        if (documentRegistry.isShared(fileHandler) || !documentRegistry.isModified(fileHandler)) {
             return true;
         }
 
@@ -167,6 +202,27 @@ public final class BinaryEditorTopComponent extends TopComponent implements Seri
         return undoHandler.getUndoManager();
     }
 
+    /**
+     * Switches to undo handler shared by all views of the same file or back
+     * to own undo handler if file is not opened.
+     */
+    public void updateUndoHandler() {
+        BinaryUndoSwingHandler documentUndoHandler = SharedDocumentRegistry.getInstance().getUndoHandler(fileHandler);
+        BinaryUndoSwingHandler targetHandler = documentUndoHandler != null ? documentUndoHandler : ownUndoHandler;
+        if (targetHandler == undoHandler) {
+            return;
+        }
+
+        undoHandler.removeChangeListener(undoChangeListener);
+        undoHandler = targetHandler;
+        ((UndoRedoWrapper) fileHandler.getUndoRedo().get()).setUndoRedo(undoHandler);
+        fileHandler.getComponent().setUndoRedo(undoHandler);
+        BinedModule binedModule = App.getModule(BinedModule.class);
+        binedModule.getFileManager().initCommandHandler(fileHandler.getComponent());
+        undoHandler.addChangeListener(undoChangeListener);
+        updateModified();
+    }
+
     /**
      * This method is called from within the constructor to initialize the form.
      * WARNING: Do NOT modify this code. The content of this method is always
@@ -191,10 +247,31 @@ public final class BinaryEditorTopComponent extends TopComponent implements Seri
         if (savable != null) {
             savable.deactivate();
         }
-        fileHandler.closeData();
+        stopFollowing();
+        if (SharedDocumentRegistry.getInstance().release(fileHandler)) {
+            MemoryBudgetGovernor.getInstance().unregister(fileHandler);
+            fileHandler.closeData();
+        }
+        updateUndoHandler();
         super.componentClosed();
     }
 
+    @Override
+    public Action[] getActions() {
+        Action[] actions = super.getActions();
+        Action[] result = Arrays.copyOf(actions, actions.length + 2);
+        boolean followMode = isFollowMode();
+        AbstractAction followAction = new AbstractAction(NbBundle.getMessage(BinaryEditorTopComponent.class, followMode ? STOP_FOLLOWING_ACTION_STRING : FOLLOW_FILE_ACTION_STRING)) {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                setFollowMode(!followMode);
+            }
+        };
+        followAction.setEnabled(dataObject != null && (followMode || !(fileHandler.isModified() || SharedDocumentRegistry.getInstance().isShared(fileHandler))));
+        result[actions.length + 1] = followAction;
+        return result;
+    }
+
     public void writeProperties(java.util.Properties p) {
         p.setProperty("version", "1.0");
     }
@@ -205,9 +282,18 @@ public final class BinaryEditorTopComponent extends TopComponent implements Seri
 
     @Override
     public void componentActivated() {
+        editorActivated();
+        super.componentActivated();
+    }
+
+    /**
+     * Marks editor as focused, must be called also when editor is activated
+     * as multiview element.
+     */
+    public void editorActivated() {
+        MemoryBudgetGovernor.getInstance().focused(SharedDocumentRegistry.getInstance().getDocumentHandler(fileHandler));
         BinedModule binedModule = App.getModule(BinedModule.class);
         ((BinEdNetBeansEditorProvider) binedModule.getEditorProvider()).setActiveFile(fileHandler);
-        super.componentActivated();
     }
 
     @Override
@@ -226,19 +312,53 @@ public final class BinaryEditorTopComponent extends TopComponent implements Seri
     }
 
     public void openFile(BinEdFileHandler fileHandler) {
+        loadFile(fileHandler, dataObject.getPrimaryFile());
+        updateUndoHandler();
+        updateStatus();
+    }
+
+    /**
+     * Loads file content to file handler.
+     * <p>
+     * Local files are opened using URI, files larger than configured threshold
+     * are opened in delta mode instead of loading whole content to memory.
+     * File already opened in another view is not loaded again, content data
+     * of that view are shared instead. Loaded content is registered to memory
+     * budget governor, which can switch least recently used editors to delta
+     * mode.
+     *
+     * @param fileHandler file handler
+     * @param fileObject file object
+     */
+    public static void loadFile(BinEdFileHandler fileHandler, FileObject fileObject) {
         SectCodeArea codeArea = fileHandler.getCodeArea();
-        boolean editable = dataObject.getPrimaryFile().canWrite();
-        URI fileUri = dataObject.getPrimaryFile().toURI();
-        // TODO pass handling mode correctly
+        boolean editable = fileObject.canWrite();
+        SharedDocumentRegistry documentRegistry = SharedDocumentRegistry.getInstance();
+        if (documentRegistry.acquire(fileObject, fileHandler)) {
+            codeArea.setEditMode(editable ? EditMode.EXPANDING : EditMode.READ_ONLY);
+            return;
+        }
+
+        File file = FileUtil.toFile(fileObject);
 
         OptionsModuleApi optionsModule = App.getModule(OptionsModuleApi.class);
         OptionsStorage optionsStorage = optionsModule.getAppOptions();
         BinaryEditorOptions editorOptions = new BinaryEditorOptions(optionsStorage);
-        fileHandler.setNewData(editorOptions.getFileProcessingMode());
-        if (fileUri == null) {
+        IntegrationOptions integrationOptions = new IntegrationOptions(optionsStorage);
+        MemoryBudgetGovernor memoryGovernor = MemoryBudgetGovernor.getInstance();
+        FileProcessingMode processingMode = editorOptions.getFileProcessingMode();
+        if (file != null && processingMode == FileProcessingMode.MEMORY) {
+            int largeFileThreshold = integrationOptions.getLargeFileThreshold();
+            if (memoryGovernor.isSpilled(fileHandler) || (largeFileThreshold > 0 && file.length() > (long) largeFileThreshold * 1024 * 1024)) {
+                processingMode = FileProcessingMode.DELTA;
+            }
+        }
+
+        fileHandler.setNewData(processingMode);
+        if (file == null) {
             InputStream stream = null;
             try {
-                stream = dataObject.getPrimaryFile().getInputStream();
+                stream = fileObject.getInputStream();
                 if (stream != null) {
                     fileHandler.loadFromStream(stream);
                 }
@@ -255,15 +375,148 @@ public final class BinaryEditorTopComponent extends TopComponent implements Seri
             }
         } else {
             codeArea.setEditMode(editable ? EditMode.EXPANDING : EditMode.READ_ONLY);
-            File file = Utilities.toFile(fileUri);
             fileHandler.loadFromFile(file.toURI(), null);
         }
+        documentRegistry.contentLoaded(fileHandler);
 
-        updateStatus();
+        memoryGovernor.register(fileHandler, fileObject, () -> {
+            memoryModeChanged(fileHandler);
+        });
+        memoryGovernor.enforceBudget((long) integrationOptions.getMemoryBudget() * 1024 * 1024);
+    }
+
+    private static void memoryModeChanged(BinEdFileHandler fileHandler) {
+        // Undo history refers to previous content data
+        UndoRedoWrapper undoWrapper = (UndoRedoWrapper) fileHandler.getUndoRedo().orElse(null);
+        if (undoWrapper != null) {
+            ((BinaryUndoSwingHandler) undoWrapper.getUndoRedo()).clear();
+        }
+
+        BinaryEditorTopComponent editorComponent = (BinaryEditorTopComponent) SwingUtilities.getAncestorOfClass(BinaryEditorTopComponent.class, fileHandler.getCodeArea());
+        if (editorComponent != null) {
+            editorComponent.updateStatus();
+        }
+
+        BinedModule binedModule = App.getModule(BinedModule.class);
+        ((BinEdNetBeansEditorProvider) binedModule.getEditorProvider()).notifyMemoryModeChanged(fileHandler);
     }
     
     public void saveFile() {
-        fileHandler.saveFile();
+        SharedDocumentRegistry.getInstance().saveDocument(fileHandler);
+    }
+
+    public boolean isFollowMode() {
+        return followedData != null;
+    }
+
+    /**
+     * Sets read-only follow mode for growing file.
+     * <p>
+     * File is polled for appended data, which are shown without dropping
+     * already cached pages and view is scrolled to the end if cursor is at the
+     * end of the data. Previous content data are released while following and
+     * file is opened again when following stops.
+     *
+     * @param followMode follow mode
+     */
+    public void setFollowMode(boolean followMode) {
+        if (followMode == isFollowMode()) {
+            return;
+        }
+
+        if (!followMode) {
+            stopFollowing();
+            openFile(fileHandler);
+            return;
+        }
+
+        OptionsModuleApi optionsModule = App.getModule(OptionsModuleApi.class);
+        int pageCacheCapacity = new IntegrationOptions(optionsModule.getAppOptions()).getPageCacheCapacity();
+        BinEdFileDataWrapper data = new BinEdFileDataWrapper(dataObject.getPrimaryFile(), pageCacheCapacity);
+        data.setFollowMode(true);
+        followedData = data;
+
+        SectCodeArea codeArea = fileHandler.getCodeArea();
+        BinaryData originalData = codeArea.getContentData();
+        codeArea.setEditMode(EditMode.READ_ONLY);
+        codeArea.setContentData(data);
+        // Original content is dropped and loaded again when following stops
+        if (SharedDocumentRegistry.getInstance().release(fileHandler)) {
+            MemoryBudgetGovernor.getInstance().unregister(fileHandler);
+            if (originalData != null) {
+                originalData.dispose();
+            }
+        }
+        undoHandler.clear();
+        scrollToEnd();
+        updateStatus();
+
+        followTimestamp = System.nanoTime();
+        RequestProcessor.Task task = FOLLOW_RP.create(this::updateFollowedFile);
+        followTask = task;
+        task.schedule(FOLLOW_INTERVAL);
+    }
+
+    private void stopFollowing() {
+        RequestProcessor.Task task = followTask;
+        followTask = null;
+        if (task != null) {
+            task.cancel();
+        }
+
+        BinEdFileDataWrapper data = followedData;
+        followedData = null;
+        if (data != null) {
+            data.close();
+        }
+        StatusDisplayer.getDefault().setStatusText("");
+    }
+
+    private void updateFollowedFile() {
+        BinEdFileDataWrapper data = followedData;
+        if (data == null) {
+            return;
+        }
+
+        long appended = 0;
+        try {
+            appended = data.updateFollowedSize();
+        } catch (IllegalStateException ex) {
+            Logger.getLogger(BinaryEditorTopComponent.class.getName()).log(Level.SEVERE, null, ex);
+        }
+
+        long timestamp = System.nanoTime();
+        long elapsed = timestamp - followTimestamp;
+        followTimestamp = timestamp;
+        long throughput = elapsed > 0 ? Math.max(appended, 0) * 1000000000L / elapsed : 0;
+        long dataChange = appended;
+        SwingUtilities.invokeLater(() -> {
+            if (followedData != data) {
+                return;
+            }
+
+            if (dataChange != 0) {
+                SectCodeArea codeArea = fileHandler.getCodeArea();
+                boolean atEnd = codeArea.getActiveCaretPosition().getDataPosition() >= data.getDataSize() - dataChange;
+                codeArea.notifyDataChanged();
+                if (atEnd) {
+                    scrollToEnd();
+                }
+                updateStatus();
+            }
+            StatusDisplayer.getDefault().setStatusText(NbBundle.getMessage(BinaryEditorTopComponent.class, FOLLOW_THROUGHPUT_STRING, displayName, throughput));
+        });
+
+        RequestProcessor.Task task = followTask;
+        if (task != null) {
+            task.schedule(FOLLOW_INTERVAL);
+        }
+    }
+
+    private void scrollToEnd() {
+        SectCodeArea codeArea = fileHandler.getCodeArea();
+        codeArea.setActiveCaretPosition(codeArea.getDataSize());
+        codeArea.revealCursor();
     }
     
     public void updateStatus() {
@@ -20,6 +20,7 @@ import java.util.Objects;
 import org.jspecify.annotations.Nullable;
 import org.jspecify.annotations.NullMarked;
 import org.exbin.bined.jaguif.BinEdFileHandler;
+import org.exbin.bined.netbeans.main.SharedDocumentRegistry;
 import org.netbeans.spi.actions.AbstractSavable;
 import org.openide.loaders.DataObject;
 
@@ -75,6 +76,6 @@ public class BinaryEditorTopComponentSavable extends AbstractSavable {
 
     @Override
     protected void handleSave() throws IOException {
-        fileApi.saveFile();
+        SharedDocumentRegistry.getInstance().saveDocument(fileApi);
     }
 }
@@ -19,20 +19,27 @@ import java.awt.event.ActionEvent;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import javax.swing.AbstractAction;
 import javax.swing.Action;
 import javax.swing.ImageIcon;
 import org.exbin.bined.netbeans.diff.BinEdDiffAction;
 import org.exbin.bined.netbeans.options.IntegrationOptions;
 import org.exbin.bined.netbeans.options.gui.IntegrationSettingsPanel;
+import org.exbin.bined.netbeans.utils.StartupProfiler;
 import org.exbin.jaguif.App;
 import org.exbin.jaguif.Module;
 import org.exbin.jaguif.ModuleProvider;
@@ -136,12 +143,14 @@ public class Installer extends ModuleInstall {
     private static final List<IntegrationOptionsListener> INTEGRATION_OPTIONS_LISTENERS = new ArrayList<>();
 
     private static IntegrationOptions initialIntegrationOptions = null;
+    @Nullable
+    private static AppModuleProvider appModuleProvider = null;
     private static boolean binEdInitialized = false;
 
     @Override
     public void restored() {
         WindowManager.getDefault().invokeWhenUIReady(() -> {
-            Installer.initBinEd();
+            StartupProfiler.measure("Installer.restored", Installer::initBinEd);
         });
     }
     
@@ -156,24 +165,28 @@ public class Installer extends ModuleInstall {
     synchronized public static void initBinEd() {
         if (!binEdInitialized) {
             binEdInitialized = true;
+            long startTime = System.nanoTime();
             AppModuleProvider appModuleProvider = new AppModuleProvider();
-            appModuleProvider.createModules();
+            appModuleProvider.registerModules();
             App.setModuleProvider(appModuleProvider);
-            appModuleProvider.init();
-            initIntegrations();
-
+            Installer.appModuleProvider = appModuleProvider;
+            StartupProfiler.measure("Installer.initModules", appModuleProvider::init);
+            StartupProfiler.measure("Installer.initIntegrations", Installer::initIntegrations);
+            StartupProfiler.record("Installer.initBinEd", startTime);
+            appModuleProvider.logCreationTimes();
+            StartupProfiler.logSummary();
         }
 
         // applyIntegrationOptions(initialIntegrationOptions);
     }
 
     private static void initIntegrations() {
-        FileOpenAsBinaryAction.registerIntegration();
-        OpenAsBinaryAction.registerIntegration();
-        OpenAsBinaryToolsAction.registerIntegration();
-        BinEdEditorMulti.registerIntegration();
-        BinEdDiffAction.registerIntegration();
-        BinEdOpenAsDataObject.registerIntegration();
+        StartupProfiler.measure("FileOpenAsBinaryAction.registerIntegration", FileOpenAsBinaryAction::registerIntegration);
+        StartupProfiler.measure("OpenAsBinaryAction.registerIntegration", OpenAsBinaryAction::registerIntegration);
+        StartupProfiler.measure("OpenAsBinaryToolsAction.registerIntegration", OpenAsBinaryToolsAction::registerIntegration);
+        StartupProfiler.measure("BinEdEditorMulti.registerIntegration", BinEdEditorMulti::registerIntegration);
+        StartupProfiler.measure("BinEdDiffAction.registerIntegration", BinEdDiffAction::registerIntegration);
+        StartupProfiler.measure("BinEdOpenAsDataObject.registerIntegration", BinEdOpenAsDataObject::registerIntegration);
     }
 
     public static void addIntegrationOptionsListener(IntegrationOptionsListener integrationOptionsListener) {
@@ -186,20 +199,17 @@ public class Installer extends ModuleInstall {
     public static void applyIntegrationOptions(IntegrationOptions integrationOptions) {
         LanguageModuleApi languageModule = App.getModule(LanguageModuleApi.class);
         Locale languageLocale = integrationOptions.getLanguageLocale();
+        if (appModuleProvider != null) {
+            appModuleProvider.registerLanguage(languageLocale);
+        }
         if (languageLocale.equals(Locale.ROOT)) {
             // Try to match to IDE locale
-            Locale ideLocale = Locale.getDefault();
             List<Locale> locales = new ArrayList<>();
             for (LanguageProvider languageRecord : languageModule.getLanguagePlugins()) {
                 locales.add(languageRecord.getLocale());
             }
             List<Locale.LanguageRange> localeRange = new ArrayList<>();
-            String languageTag = ideLocale.toLanguageTag();
-            if ("zh-CN".equals(languageTag)) {
-                // TODO detect match to zh_Hans somehow
-                languageTag = "zh";
-            }
-            localeRange.add(new Locale.LanguageRange(languageTag));
+            localeRange.add(new Locale.LanguageRange(getIdeLanguageTag()));
             List<Locale> match = Locale.filter(localeRange, locales);
             if (!match.isEmpty()) {
                 languageModule.switchToLanguage(match.get(0));
@@ -220,6 +230,15 @@ public class Installer extends ModuleInstall {
         }
     }
 
+    private static String getIdeLanguageTag() {
+        String languageTag = Locale.getDefault().toLanguageTag();
+        if ("zh-CN".equals(languageTag)) {
+            // TODO detect match to zh_Hans somehow
+            languageTag = "zh";
+        }
+        return languageTag;
+    }
+
     private static void uninstallIntegration() {
         for (IntegrationOptionsListener listener : INTEGRATION_OPTIONS_LISTENERS) {
             listener.uninstallIntegration();
@@ -237,73 +256,101 @@ public class Installer extends ModuleInstall {
     @NullMarked
     private static class AppModuleProvider implements ModuleProvider {
 
+        private final Map<Class<?>, Supplier<? extends Module>> factories = new HashMap<>();
         private final Map<Class<?>, Module> modules = new HashMap<>();
-
-        private void createModules() {
+        private final Map<Class<?>, Long> creationTimes = new LinkedHashMap<>();
+        private final Map<Locale, Runnable> languagePacks = new LinkedHashMap<>();
+        private final Set<Locale> registeredLanguages = new HashSet<>();
+
+        /**
+         * Registers factories of modules, modules are created on first
+         * request.
+         */
+        private void registerModules() {
             // Jaguif framework modules
-            modules.put(LanguageModuleApi.class, new LanguageModule());
-            modules.put(ContributionModuleApi.class, new ContributionModule());
-            modules.put(ContextModuleApi.class, new ContextModule());
-            modules.put(ActionModuleApi.class, new ActionModule());
-            modules.put(OperationUndoModuleApi.class, new OperationUndoModule());
-            modules.put(OptionsModuleApi.class, new OptionsModule());
-            modules.put(OptionsSettingsModuleApi.class, new OptionsSettingsModule());
-            modules.put(UiModuleApi.class, new UiModule());
-            modules.put(UiThemeModuleApi.class, new UiThemeModule());
-            modules.put(HelpModuleApi.class, new HelpModule());
-            modules.put(MenuModuleApi.class, new MenuModule());
-            modules.put(ToolBarModuleApi.class, new ToolBarModule());
-            modules.put(StatusBarModuleApi.class, new StatusBarModule());
-            modules.put(ComponentModuleApi.class, new ComponentModule());
-            modules.put(WindowModuleApi.class, new WindowModule());
-            modules.put(FrameModuleApi.class, new FrameModule());
-            modules.put(TabPagesModuleApi.class, new TabPagesModule());
-            modules.put(LicenseModuleApi.class, new LicenseModule());
-            modules.put(DocumentModuleApi.class, new DocumentModule());
-            modules.put(FileModuleApi.class, new FileModule());
-            modules.put(DockingModuleApi.class, new DockingModule());
-            modules.put(HelpOnlineModule.class, new HelpOnlineModule());
+            factories.put(LanguageModuleApi.class, LanguageModule::new);
+            factories.put(ContributionModuleApi.class, ContributionModule::new);
+            factories.put(ContextModuleApi.class, ContextModule::new);
+            factories.put(ActionModuleApi.class, ActionModule::new);
+            factories.put(OperationUndoModuleApi.class, OperationUndoModule::new);
+            factories.put(OptionsModuleApi.class, OptionsModule::new);
+            factories.put(OptionsSettingsModuleApi.class, OptionsSettingsModule::new);
+            factories.put(UiModuleApi.class, UiModule::new);
+            factories.put(UiThemeModuleApi.class, UiThemeModule::new);
+            factories.put(HelpModuleApi.class, HelpModule::new);
+            factories.put(MenuModuleApi.class, MenuModule::new);
+            factories.put(ToolBarModuleApi.class, ToolBarModule::new);
+            factories.put(StatusBarModuleApi.class, StatusBarModule::new);
+            factories.put(ComponentModuleApi.class, ComponentModule::new);
+            factories.put(WindowModuleApi.class, WindowModule::new);
+            factories.put(FrameModuleApi.class, FrameModule::new);
+            factories.put(TabPagesModuleApi.class, TabPagesModule::new);
+            factories.put(LicenseModuleApi.class, LicenseModule::new);
+            factories.put(DocumentModuleApi.class, DocumentModule::new);
+            factories.put(FileModuleApi.class, FileModule::new);
+            factories.put(DockingModuleApi.class, DockingModule::new);
+            factories.put(HelpOnlineModule.class, HelpOnlineModule::new);
             
             // BinEd modules
-            modules.put(BinedComponentModule.class, new BinedComponentModule());
-            modules.put(BinedViewerModule.class, new BinedViewerModule());
-            modules.put(BinedEditorModule.class, new BinedEditorModule());
-            modules.put(BinedDocumentModule.class, new BinedDocumentModule());
-            modules.put(BinedThemeModule.class, new BinedThemeModule());
-            modules.put(BinedSearchModule.class, new BinedSearchModule());
-            modules.put(BinedOperationMethodModule.class, new BinedOperationMethodModule());
-            modules.put(BinedOperationCodeModule.class, new BinedOperationCodeModule());
-            modules.put(BinedOperationBouncycastleModule.class, new BinedOperationBouncycastleModule());
-            modules.put(BinedObjectDataModule.class, new BinedObjectDataModule());
-            modules.put(BinedToolContentModule.class, new BinedToolContentModule());
-            modules.put(BinedCompareModule.class, new BinedCompareModule());
-            modules.put(BinedInspectorModule.class, new BinedInspectorModule());
-            modules.put(BinedBookmarksModule.class, new BinedBookmarksModule());
-            modules.put(BinedMacroModule.class, new BinedMacroModule());
+            factories.put(BinedComponentModule.class, BinedComponentModule::new);
+            factories.put(BinedViewerModule.class, BinedViewerModule::new);
+            factories.put(BinedEditorModule.class, BinedEditorModule::new);
+            factories.put(BinedDocumentModule.class, BinedDocumentModule::new);
+            factories.put(BinedThemeModule.class, BinedThemeModule::new);
+            factories.put(BinedSearchModule.class, BinedSearchModule::new);
+            factories.put(BinedOperationMethodModule.class, BinedOperationMethodModule::new);
+            factories.put(BinedOperationCodeModule.class, BinedOperationCodeModule::new);
+            factories.put(BinedOperationBouncycastleModule.class, BinedOperationBouncycastleModule::new);
+            factories.put(BinedObjectDataModule.class, BinedObjectDataModule::new);
+            factories.put(BinedToolContentModule.class, BinedToolContentModule::new);
+            factories.put(BinedCompareModule.class, BinedCompareModule::new);
+            factories.put(BinedInspectorModule.class, BinedInspectorModule::new);
+            factories.put(BinedBookmarksModule.class, BinedBookmarksModule::new);
+            factories.put(BinedMacroModule.class, BinedMacroModule::new);
 
             // Language plugins
-            modules.put(LanguageCsCzModule.class, new LanguageCsCzModule());
-            modules.put(LanguageDeDeModule.class, new LanguageDeDeModule());
-            modules.put(LanguageEsEsModule.class, new LanguageEsEsModule());
-            modules.put(LanguageFiFiModule.class, new LanguageFiFiModule());
-            modules.put(LanguageFrFrModule.class, new LanguageFrFrModule());
-            modules.put(LanguageHiInModule.class, new LanguageHiInModule());
-            modules.put(LanguageInIdModule.class, new LanguageInIdModule());
-            modules.put(LanguageItItModule.class, new LanguageItItModule());
-            modules.put(LanguageJaJpModule.class, new LanguageJaJpModule());
-            modules.put(LanguageKoKrModule.class, new LanguageKoKrModule());
-            modules.put(LanguagePlPlModule.class, new LanguagePlPlModule());
-            modules.put(LanguagePtPtModule.class, new LanguagePtPtModule());
-            modules.put(LanguageRuRuModule.class, new LanguageRuRuModule());
-            modules.put(LanguageSvSeModule.class, new LanguageSvSeModule());
-            modules.put(LanguageViVnModule.class, new LanguageViVnModule());
-            modules.put(LanguageZhHansModule.class, new LanguageZhHansModule());
-            modules.put(LanguageZhHantModule.class, new LanguageZhHantModule());
-            modules.put(LanguageZhHkModule.class, new LanguageZhHkModule());
-            modules.put(LanguageZhTwModule.class, new LanguageZhTwModule());
+            factories.put(LanguageCsCzModule.class, LanguageCsCzModule::new);
+            factories.put(LanguageDeDeModule.class, LanguageDeDeModule::new);
+            factories.put(LanguageEsEsModule.class, LanguageEsEsModule::new);
+            factories.put(LanguageFiFiModule.class, LanguageFiFiModule::new);
+            factories.put(LanguageFrFrModule.class, LanguageFrFrModule::new);
+            factories.put(LanguageHiInModule.class, LanguageHiInModule::new);
+            factories.put(LanguageInIdModule.class, LanguageInIdModule::new);
+            factories.put(LanguageItItModule.class, LanguageItItModule::new);
+            factories.put(LanguageJaJpModule.class, LanguageJaJpModule::new);
+            factories.put(LanguageKoKrModule.class, LanguageKoKrModule::new);
+            factories.put(LanguagePlPlModule.class, LanguagePlPlModule::new);
+            factories.put(LanguagePtPtModule.class, LanguagePtPtModule::new);
+            factories.put(LanguageRuRuModule.class, LanguageRuRuModule::new);
+            factories.put(LanguageSvSeModule.class, LanguageSvSeModule::new);
+            factories.put(LanguageViVnModule.class, LanguageViVnModule::new);
+            factories.put(LanguageZhHansModule.class, LanguageZhHansModule::new);
+            factories.put(LanguageZhHantModule.class, LanguageZhHantModule::new);
+            factories.put(LanguageZhHkModule.class, LanguageZhHkModule::new);
+            factories.put(LanguageZhTwModule.class, LanguageZhTwModule::new);
+
+            languagePacks.put(Locale.forLanguageTag("cs-CZ"), () -> App.getModule(LanguageCsCzModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("de-DE"), () -> App.getModule(LanguageDeDeModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("es-ES"), () -> App.getModule(LanguageEsEsModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("fi-FI"), () -> App.getModule(LanguageFiFiModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("fr-FR"), () -> App.getModule(LanguageFrFrModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("hi-IN"), () -> App.getModule(LanguageHiInModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("id-ID"), () -> App.getModule(LanguageInIdModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("it-IT"), () -> App.getModule(LanguageItItModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("ja-JP"), () -> App.getModule(LanguageJaJpModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("ko-KR"), () -> App.getModule(LanguageKoKrModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("pl-PL"), () -> App.getModule(LanguagePlPlModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("pt-PT"), () -> App.getModule(LanguagePtPtModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("ru-RU"), () -> App.getModule(LanguageRuRuModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("sv-SE"), () -> App.getModule(LanguageSvSeModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("vi-VN"), () -> App.getModule(LanguageViVnModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("zh-Hans"), () -> App.getModule(LanguageZhHansModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("zh-Hant"), () -> App.getModule(LanguageZhHantModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("zh-HK"), () -> App.getModule(LanguageZhHkModule.class).register());
+            languagePacks.put(Locale.forLanguageTag("zh-TW"), () -> App.getModule(LanguageZhTwModule.class).register());
 
             // Iconset plugins
-            modules.put(IconSetMaterialModule.class, new IconSetMaterialModule());
+            factories.put(IconSetMaterialModule.class, IconSetMaterialModule::new);
         }
 
         private void init() {
@@ -311,24 +358,7 @@ public class Installer extends ModuleInstall {
             preferencesModule.setAppPreferences(new PreferencesWrapper(NbPreferences.forModule(BinaryEditorPreferences.class)));
             OptionsStorage optionsStorage = preferencesModule.getAppPreferences();
 
-            App.getModule(LanguageCsCzModule.class).register();
-            App.getModule(LanguageDeDeModule.class).register();
-            App.getModule(LanguageEsEsModule.class).register();
-            App.getModule(LanguageFiFiModule.class).register();
-            App.getModule(LanguageFrFrModule.class).register();
-            App.getModule(LanguageHiInModule.class).register();
-            App.getModule(LanguageInIdModule.class).register();
-            App.getModule(LanguageItItModule.class).register();
-            App.getModule(LanguageJaJpModule.class).register();
-            App.getModule(LanguageKoKrModule.class).register();
-            App.getModule(LanguagePlPlModule.class).register();
-            App.getModule(LanguageRuRuModule.class).register();
-            App.getModule(LanguageSvSeModule.class).register();
-            App.getModule(LanguageViVnModule.class).register();
-            App.getModule(LanguageZhHansModule.class).register();
-            App.getModule(LanguageZhHantModule.class).register();
-            App.getModule(LanguageZhHkModule.class).register();
-            App.getModule(LanguageZhTwModule.class).register();
+            registerLanguage(new IntegrationOptions(optionsStorage).getLanguageLocale());
             App.getModule(IconSetMaterialModule.class).register();
 
             BinedBookmarksModule binedBookmarksModule = App.getModule(BinedBookmarksModule.class);
@@ -408,6 +438,7 @@ public class Installer extends ModuleInstall {
                 @Override
                 public OptionsComponent<IntegrationOptions> createComponent() {
                     if (panel == null) {
+                        registerAllLanguages();
                         panel = new IntegrationSettingsPanel();
                         ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(LanguageOptionsPanel.class);
                         panel.setDefaultLocaleName("<" + resourceBundle.getString("locale.defaultLanguage") + ">");
@@ -532,10 +563,72 @@ public class Installer extends ModuleInstall {
         public void launch(String launchModuleId, String[] args) {
         }
 
+        /**
+         * Registers language pack matching given locale.
+         *
+         * @param languageLocale language locale, root locale for IDE locale
+         */
+        private synchronized void registerLanguage(Locale languageLocale) {
+            String languageTag = languageLocale.equals(Locale.ROOT) ? getIdeLanguageTag() : languageLocale.toLanguageTag();
+            List<Locale> match;
+            try {
+                match = Locale.filter(Collections.singletonList(new Locale.LanguageRange(languageTag)), new ArrayList<>(languagePacks.keySet()));
+            } catch (IllegalArgumentException ex) {
+                return;
+            }
+            if (!match.isEmpty()) {
+                registerLanguagePack(match.get(0));
+            }
+        }
+
+        /**
+         * Registers all language packs, so that they can be offered for
+         * selection.
+         */
+        private synchronized void registerAllLanguages() {
+            for (Locale locale : languagePacks.keySet()) {
+                registerLanguagePack(locale);
+            }
+        }
+
+        private void registerLanguagePack(Locale locale) {
+            if (registeredLanguages.add(locale)) {
+                languagePacks.get(locale).run();
+            }
+        }
+
+        /**
+         * Logs time spent in creation of each module, including modules
+         * requested from its constructor.
+         */
+        private synchronized void logCreationTimes() {
+            Logger logger = Logger.getLogger(Installer.class.getName());
+            if (!logger.isLoggable(Level.FINE)) {
+                return;
+            }
+
+            StringBuilder report = new StringBuilder("BinEd modules created:");
+            for (Map.Entry<Class<?>, Long> entry : creationTimes.entrySet()) {
+                report.append("\n    ").append(entry.getKey().getSimpleName()).append(": ").append(entry.getValue() / 1000).append(" us");
+            }
+            report.append("\n    ").append(creationTimes.size()).append(" of ").append(factories.size()).append(" modules created");
+            logger.log(Level.FINE, report.toString());
+        }
+
         @SuppressWarnings("unchecked")
         @Override
-        public <T extends Module> T getModule(Class<T> moduleClass) {
-            return (T) modules.get(moduleClass);
+        public synchronized <T extends Module> T getModule(Class<T> moduleClass) {
+            Module module = modules.get(moduleClass);
+            if (module == null) {
+                Supplier<? extends Module> factory = factories.get(moduleClass);
+                if (factory != null) {
+                    long startTime = System.nanoTime();
+                    module = factory.get();
+                    creationTimes.put(moduleClass, System.nanoTime() - startTime);
+                    modules.put(moduleClass, module);
+                }
+            }
+            return (T) module;
         }
     }
 }
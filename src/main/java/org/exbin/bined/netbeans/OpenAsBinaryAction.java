@@ -22,6 +22,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jspecify.annotations.NullMarked;
 import org.exbin.bined.netbeans.options.IntegrationOptions;
+import org.exbin.bined.netbeans.utils.LayerRegistrationManager;
 import org.openide.awt.ActionID;
 import org.openide.awt.ActionRegistration;
 import org.openide.filesystems.FileObject;
@@ -55,7 +56,20 @@ public final class OpenAsBinaryAction implements ActionListener {
     private static final String OPENIDE_OPEN_ACTION_STRING = "org-openide-actions-OpenAction.shadow";
     private static final String OPEN_ACTION_STRING = "OpenAction.shadow";
     private static final String CUT_TO_CLIPBOARD_ACTION_STRING = "CutAction.shadow";
-    
+    private static final String CONTEXT_MENU_PATCHED_KEY = "contextMenuPatchedTypes";
+
+    private static final LayerRegistrationManager CONTEXT_MENU_REGISTRATION = new LayerRegistrationManager(LOADERS_FOLDER, CONTEXT_MENU_PATCHED_KEY, new LayerRegistrationManager.FolderRegistrar() {
+        @Override
+        public boolean install(FileObject typeFolder) {
+            return installForFileObject(typeFolder);
+        }
+
+        @Override
+        public void uninstall(FileObject typeFolder) {
+            uninstallForFileObject(typeFolder);
+        }
+    });
+
     public OpenAsBinaryAction() {
     }
 
@@ -110,26 +124,16 @@ public final class OpenAsBinaryAction implements ActionListener {
     }
 
     public static void installInContextMenu() {
-        final FileObject loaders = FileUtil.getConfigFile(LOADERS_FOLDER);
-        for (FileObject category : loaders.getChildren()) {
-            for (FileObject fileType : category.getChildren()) {
-                installForFileObject(fileType);
-            }
-        }
+        CONTEXT_MENU_REGISTRATION.install();
     }
 
     public static void uninstallInContextMenu() {
-        final FileObject loaders = FileUtil.getConfigFile(LOADERS_FOLDER);
-        for (FileObject category : loaders.getChildren()) {
-            for (FileObject fileType : category.getChildren()) {
-                uninstallForFileObject(fileType);
-            }
-        }
+        CONTEXT_MENU_REGISTRATION.uninstall();
     }
 
-    private static void installForFileObject(FileObject fileType) {
+    private static boolean installForFileObject(FileObject fileType) {
         if (!fileType.isFolder()) {
-            return;
+            return false;
         }
         try {
             String fileTypeName = fileType.getName();
@@ -211,9 +215,11 @@ public final class OpenAsBinaryAction implements ActionListener {
             } else {
                 openAsBinaryAction.setAttribute(POSITION_ATTRIBUTE, actionPosition);
             }
+            return true;
         } catch (IOException ex) {
             Logger.getLogger(OpenAsBinaryAction.class.getName()).log(Level.SEVERE, null, ex);
         }
+        return false;
     }
 
     private static void uninstallForFileObject(FileObject fileType) {
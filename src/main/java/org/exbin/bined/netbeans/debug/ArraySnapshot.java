@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.debug;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.exbin.bined.netbeans.main.PageCache;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Snapshot of pages of array from debugged virtual machine.
+ * <p>
+ * Pages fetched in previous stop of the debugger are kept, but considered
+ * stale until fetched again, so that they can be shown immediately and only
+ * pages with changed content are replaced. Count of stored pages is limited
+ * same way as page cache, least recently used pages are dropped.
+ * <p>
+ * Snapshot is thread safe.
+ */
+@NullMarked
+public class ArraySnapshot {
+
+    private final long objectId;
+    private final long dataSize;
+    private final int capacity;
+    private final Map<Long, Page> pages;
+    private final Set<Long> validPages = new HashSet<>();
+
+    public ArraySnapshot(long objectId, long dataSize, int capacity) {
+        this.objectId = objectId;
+        this.dataSize = dataSize;
+        this.capacity = Math.max(capacity, PageCache.MINIMUM_CAPACITY);
+        pages = new LinkedHashMap<Long, Page>(this.capacity + 1, 1f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Page> eldest) {
+                if (size() > ArraySnapshot.this.capacity) {
+                    validPages.remove(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public long getObjectId() {
+        return objectId;
+    }
+
+    public long getDataSize() {
+        return dataSize;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns stored page, which might be stale.
+     *
+     * @param pageIndex page index
+     * @return page data or null if page was not fetched yet
+     */
+    @Nullable
+    public synchronized byte[] getPage(long pageIndex) {
+        Page page = pages.get(pageIndex);
+        return page == null ? null : page.data;
+    }
+
+    /**
+     * Returns true if stored page was fetched during current stop of the
+     * debugger.
+     *
+     * @param pageIndex page index
+     * @return true if page is valid
+     */
+    public synchronized boolean isPageValid(long pageIndex) {
+        return validPages.contains(pageIndex);
+    }
+
+    /**
+     * Stores fetched page and marks it as valid.
+     *
+     * @param pageIndex page index
+     * @param data page data
+     * @return true if page was not stored yet or its content changed
+     */
+    public synchronized boolean updatePage(long pageIndex, byte[] data) {
+        validPages.add(pageIndex);
+        Page page = pages.get(pageIndex);
+        int hash = Arrays.hashCode(data);
+        if (page != null && page.hash == hash && Arrays.equals(page.data, data)) {
+            return false;
+        }
+
+        pages.put(pageIndex, new Page(data, hash));
+        return true;
+    }
+
+    /**
+     * Marks all stored pages as stale, called when debugged virtual machine
+     * was resumed.
+     */
+    public synchronized void invalidate() {
+        validPages.clear();
+    }
+
+    public synchronized int getPagesCount() {
+        return pages.size();
+    }
+
+    private static final class Page {
+
+        final byte[] data;
+        final int hash;
+
+        Page(byte[] data, int hash) {
+            this.data = data;
+            this.hash = hash;
+        }
+    }
+}
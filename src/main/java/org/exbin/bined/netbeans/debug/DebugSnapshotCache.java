@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.debug;
+
+import java.beans.PropertyChangeEvent;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.bined.netbeans.main.PageCache;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.netbeans.api.debugger.DebuggerEngine;
+import org.netbeans.api.debugger.DebuggerManager;
+import org.netbeans.api.debugger.jpda.JPDADebugger;
+
+/**
+ * Cache of array snapshots for debugger session.
+ * <p>
+ * Snapshots are identified by unique ID of the array object, stored pages are
+ * marked as stale whenever debugged virtual machine is resumed and dropped
+ * when it is disconnected. Frozen snapshots are complete copies of array
+ * content made on user request, kept for comparison with later stops.
+ */
+@NullMarked
+public class DebugSnapshotCache {
+
+    private static final Map<JPDADebugger, DebugSnapshotCache> CACHES = new WeakHashMap<>();
+
+    private final Map<Long, ArraySnapshot> snapshots = new HashMap<>();
+    private final Map<Long, BinaryData> frozenSnapshots = new HashMap<>();
+
+    private DebugSnapshotCache(JPDADebugger debugger) {
+        debugger.addPropertyChangeListener(JPDADebugger.PROP_STATE, (PropertyChangeEvent evt) -> {
+            int state = debugger.getState();
+            if (state == JPDADebugger.STATE_RUNNING) {
+                invalidate();
+            } else if (state == JPDADebugger.STATE_DISCONNECTED) {
+                clear();
+            }
+        });
+    }
+
+    /**
+     * Returns snapshot cache for current debugger session.
+     *
+     * @return snapshot cache or null if there is no JPDA debugger session
+     */
+    @Nullable
+    public static DebugSnapshotCache getCurrent() {
+        DebuggerEngine engine = DebuggerManager.getDebuggerManager().getCurrentEngine();
+        JPDADebugger debugger = engine == null ? null : engine.lookupFirst(null, JPDADebugger.class);
+        if (debugger == null) {
+            return null;
+        }
+
+        synchronized (CACHES) {
+            DebugSnapshotCache cache = CACHES.get(debugger);
+            if (cache == null) {
+                cache = new DebugSnapshotCache(debugger);
+                CACHES.put(debugger, cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Returns snapshot for given array object, existing snapshot is reused if
+     * array size and capacity matches.
+     *
+     * @param objectId unique ID of the array object
+     * @param dataSize data size
+     * @param capacity maximum count of stored pages
+     * @return array snapshot
+     */
+    public synchronized ArraySnapshot getSnapshot(long objectId, long dataSize, int capacity) {
+        ArraySnapshot snapshot = snapshots.get(objectId);
+        if (snapshot == null || snapshot.getDataSize() != dataSize || snapshot.getCapacity() != Math.max(capacity, PageCache.MINIMUM_CAPACITY)) {
+            snapshot = new ArraySnapshot(objectId, dataSize, capacity);
+            snapshots.put(objectId, snapshot);
+        }
+        return snapshot;
+    }
+
+    @Nullable
+    public synchronized BinaryData getFrozenSnapshot(long objectId) {
+        return frozenSnapshots.get(objectId);
+    }
+
+    public synchronized void putFrozenSnapshot(long objectId, BinaryData data) {
+        BinaryData previous = frozenSnapshots.put(objectId, data);
+        if (previous != null && previous != data) {
+            previous.dispose();
+        }
+    }
+
+    private synchronized void invalidate() {
+        for (ArraySnapshot snapshot : snapshots.values()) {
+            snapshot.invalidate();
+        }
+    }
+
+    private synchronized void clear() {
+        snapshots.clear();
+        for (BinaryData data : frozenSnapshots.values()) {
+            data.dispose();
+        }
+        frozenSnapshots.clear();
+    }
+}
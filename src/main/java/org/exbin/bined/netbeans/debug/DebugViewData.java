@@ -17,69 +17,95 @@ package org.exbin.bined.netbeans.debug;
 
 import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
+import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
 import org.jspecify.annotations.NullMarked;
 import org.exbin.bined.jaguif.objectdata.PageProvider;
+import org.exbin.bined.netbeans.main.PageCache;
+import org.jspecify.annotations.Nullable;
+import org.openide.util.RequestProcessor;
 
 /**
- * Debugger value dual page data source.
+ * Debugger value paged data source.
+ * <p>
+ * Debugger must not be accessed from event dispatch thread, so pages requested
+ * during painting are loaded in background and placeholder value is provided
+ * until the page is available. Placeholder value is provided for pages which
+ * failed to load too, their loading is retried after delay. Placeholder value
+ * is only used for painting, copying waits for real data instead.
+ * <p>
+ * When snapshot is attached, pages from previous stop of the debugger are
+ * shown until fetched again.
  */
 @NullMarked
 public class DebugViewData implements BinaryData {
 
     public static final int PAGE_SIZE = 2048;
+    public static final byte PLACEHOLDER_VALUE = 0;
+    public static final long FAILED_PAGE_RETRY_DELAY = 2000;
+
+    private static final RequestProcessor LOADER_RP = new RequestProcessor("BinEd debug page loader", 1, true); // NOI18N
 
     private final PageProvider pageProvider;
 
-    private final CachePage[] pages = new CachePage[2];
-    private int nextPage = 0;
+    private final PageCache pageCache;
+    private final Set<Long> pendingPages = new HashSet<>();
+    // Time of failure of page loading in milliseconds
+    private final Map<Long, Long> failedPages = new HashMap<>();
+    private final List<PageLoadedListener> pageLoadedListeners = new ArrayList<>();
+    private volatile long dataSize = -1;
+    @Nullable
+    private volatile ArraySnapshot snapshot = null;
 
     public DebugViewData(PageProvider pageProvider) {
+        this(pageProvider, PageCache.DEFAULT_CAPACITY);
+    }
+
+    public DebugViewData(PageProvider pageProvider, int pageCacheCapacity) {
         this.pageProvider = pageProvider;
-        pages[0] = new CachePage();
-        pages[1] = new CachePage();
+        pageCache = new PageCache(pageCacheCapacity, PAGE_SIZE);
     }
 
     @Override
     public boolean isEmpty() {
-        return pageProvider.getDocumentSize() == 0;
+        return getDataSize() == 0;
     }
 
     @Override
     public long getDataSize() {
-        return pageProvider.getDocumentSize();
+        // Array length cannot change
+        if (dataSize < 0) {
+            dataSize = pageProvider.getDocumentSize();
+        }
+        return dataSize;
     }
 
     @Override
     public byte getByte(long position) {
         long pageIndex = position / PAGE_SIZE;
         int pageOffset = (int) (position % PAGE_SIZE);
-        CachePage page;
-
-        if (pages[0].index == pageIndex && pages[0].data != null) {
-            page = pages[0];
-        } else if (pages[1].index == pageIndex && pages[1].data != null) {
-            page = pages[1];
-        } else {
-            byte[] data = pageProvider.getPage(pageIndex);
-            if (data == null) {
-                return -1;
-            }
-
-            pages[nextPage].data = data;
-            pages[nextPage].index = pageIndex;
-            page = pages[nextPage];
-            nextPage = 1 - nextPage;
+        byte[] page = getPage(pageIndex);
+        if (page == null) {
+            return PLACEHOLDER_VALUE;
         }
-
-        if (pageOffset >= page.data.length) {
+        if (pageOffset >= page.length) {
             return -1;
         }
 
-        return page.data[pageOffset];
+        return page[pageOffset];
     }
 
     @Override
@@ -89,47 +115,37 @@ public class DebugViewData implements BinaryData {
 
     @Override
     public BinaryData copy(long startFrom, long length) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            // Copied data must not contain placeholder values
+            return callOffEventDispatchThread(() -> copy(startFrom, length));
+        }
+
         ByteArrayEditableData result = new ByteArrayEditableData();
         result.insertUninitialized(0, length);
         int offset = 0;
 
-        while (length > 0) {
-            long pageIndex = startFrom / PAGE_SIZE;
-            int pageOffset = (int) (startFrom % PAGE_SIZE);
-            CachePage page;
-
-            if (pages[0].index == pageIndex && pages[0].data != null) {
-                page = pages[0];
-            } else if (pages[1].index == pageIndex && pages[1].data != null) {
-                page = pages[1];
-            } else {
-                byte[] data = pageProvider.getPage(pageIndex);
-                if (data == null) {
-                    throw createOfOutBoundsException();
-                }
-
-                pages[nextPage].data = data;
-                pages[nextPage].index = pageIndex;
-                page = pages[nextPage];
-                nextPage = 1 - nextPage;
-            }
-
-            if (pageOffset >= page.data.length) {
+        long position = startFrom;
+        long remaining = length;
+        while (remaining > 0) {
+            long pageIndex = position / PAGE_SIZE;
+            int pageOffset = (int) (position % PAGE_SIZE);
+            byte[] page = getPage(pageIndex);
+            if (page == null || pageOffset >= page.length) {
                 throw createOfOutBoundsException();
             }
 
-            int copyLength = length > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) length;
-            if (pageOffset + copyLength > page.data.length) {
-                copyLength = page.data.length - pageOffset;
+            int copyLength = remaining > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) remaining;
+            if (pageOffset + copyLength > page.length) {
+                copyLength = page.length - pageOffset;
             }
             if (copyLength == 0) {
                 throw createOfOutBoundsException();
             }
 
-            result.replace(offset, page.data, pageOffset, copyLength);
-            startFrom += copyLength;
+            result.replace(offset, page, pageOffset, copyLength);
+            position += copyLength;
             offset += copyLength;
-            length -= copyLength;
+            remaining -= copyLength;
         }
 
         return result;
@@ -137,43 +153,38 @@ public class DebugViewData implements BinaryData {
 
     @Override
     public void copyToArray(long startFrom, byte[] target, int offset, int length) {
-        while (length > 0) {
-            long pageIndex = startFrom / PAGE_SIZE;
-            int pageOffset = (int) (startFrom % PAGE_SIZE);
-            CachePage page;
-
-            if (pages[0].index == pageIndex && pages[0].data != null) {
-                page = pages[0];
-            } else if (pages[1].index == pageIndex && pages[1].data != null) {
-                page = pages[1];
-            } else {
-                byte[] data = pageProvider.getPage(pageIndex);
-                if (data == null) {
-                    throw createOfOutBoundsException();
-                }
-
-                pages[nextPage].data = data;
-                pages[nextPage].index = pageIndex;
-                page = pages[nextPage];
-                nextPage = 1 - nextPage;
-            }
+        if (SwingUtilities.isEventDispatchThread()) {
+            // Copied data must not contain placeholder values
+            callOffEventDispatchThread(() -> {
+                copyToArray(startFrom, target, offset, length);
+                return null;
+            });
+            return;
+        }
 
-            if (pageOffset >= page.data.length) {
+        long position = startFrom;
+        int targetOffset = offset;
+        int remaining = length;
+        while (remaining > 0) {
+            long pageIndex = position / PAGE_SIZE;
+            int pageOffset = (int) (position % PAGE_SIZE);
+            byte[] page = getPage(pageIndex);
+            if (page == null || pageOffset >= page.length) {
                 throw createOfOutBoundsException();
             }
 
-            int copyLength = length;
-            if (pageOffset + copyLength > page.data.length) {
-                copyLength = page.data.length - pageOffset;
+            int copyLength = remaining;
+            if (pageOffset + copyLength > page.length) {
+                copyLength = page.length - pageOffset;
             }
             if (copyLength == 0) {
                 throw createOfOutBoundsException();
             }
 
-            System.arraycopy(page.data, pageOffset, target, offset, copyLength);
-            startFrom += copyLength;
-            offset += copyLength;
-            length -= copyLength;
+            System.arraycopy(page, pageOffset, target, targetOffset, copyLength);
+            position += copyLength;
+            targetOffset += copyLength;
+            remaining -= copyLength;
         }
     }
 
@@ -189,16 +200,223 @@ public class DebugViewData implements BinaryData {
 
     @Override
     public void dispose() {
+        synchronized (pendingPages) {
+            pageLoadedListeners.clear();
+        }
+        pageCache.clear();
+    }
+
+    public PageCache getPageCache() {
+        return pageCache;
+    }
+
+    @Nullable
+    public ArraySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Attaches snapshot used to store and reuse fetched pages.
+     *
+     * @param snapshot array snapshot
+     */
+    public void setSnapshot(@Nullable ArraySnapshot snapshot) {
+        this.snapshot = snapshot;
+        pageCache.clear();
+    }
+
+    /**
+     * Fetches complete current content of the data.
+     * <p>
+     * Must not be called from event dispatch thread.
+     *
+     * @return copy of the data or null if fetching was interrupted
+     */
+    @Nullable
+    public BinaryData createFrozenCopy() {
+        ByteArrayPagedData result = new ByteArrayPagedData();
+        long pagesCount = (getDataSize() + PAGE_SIZE - 1) / PAGE_SIZE;
+        for (long pageIndex = 0; pageIndex < pagesCount; pageIndex++) {
+            if (Thread.currentThread().isInterrupted()) {
+                result.dispose();
+                return null;
+            }
+
+            byte[] page = pageProvider.getPage(pageIndex);
+            if (page == null) {
+                throw createOfOutBoundsException();
+            }
+            storePage(pageIndex, page);
+            result.insert(result.getDataSize(), page);
+        }
+
+        return result;
+    }
+
+    public void addPageLoadedListener(PageLoadedListener listener) {
+        synchronized (pendingPages) {
+            pageLoadedListeners.add(listener);
+        }
+    }
+
+    public void removePageLoadedListener(PageLoadedListener listener) {
+        synchronized (pendingPages) {
+            pageLoadedListeners.remove(listener);
+        }
+    }
+
+    /**
+     * Returns true if page is being loaded in background.
+     *
+     * @param pageIndex page index
+     * @return true if loading is pending
+     */
+    public boolean isPagePending(long pageIndex) {
+        synchronized (pendingPages) {
+            return pendingPages.contains(pageIndex);
+        }
+    }
+
+    @Nullable
+    private byte[] getPage(long pageIndex) {
+        byte[] page = pageCache.getPage(pageIndex);
+        if (page != null) {
+            return page;
+        }
+
+        byte[] stalePage = null;
+        ArraySnapshot currentSnapshot = snapshot;
+        if (currentSnapshot != null) {
+            page = currentSnapshot.getPage(pageIndex);
+            if (page != null) {
+                if (currentSnapshot.isPageValid(pageIndex)) {
+                    pageCache.putPage(pageIndex, page);
+                    return page;
+                }
+                stalePage = page;
+            }
+        }
+
+        if (SwingUtilities.isEventDispatchThread()) {
+            requestPage(pageIndex);
+            return stalePage;
+        }
+
+        page = pageProvider.getPage(pageIndex);
+        if (page != null) {
+            storePage(pageIndex, page);
+        }
 
+        return page;
     }
 
-    private class CachePage {
+    /**
+     * Stores fetched page.
+     *
+     * @param pageIndex page index
+     * @param page page data
+     * @return true if page content is different from stored snapshot
+     */
+    private boolean storePage(long pageIndex, byte[] page) {
+        pageCache.putPage(pageIndex, page);
+        ArraySnapshot currentSnapshot = snapshot;
+        return currentSnapshot == null || currentSnapshot.updatePage(pageIndex, page);
+    }
+
+    /**
+     * Performs operation in loader thread and waits for its result.
+     * <p>
+     * Used for operations which need real data even when requested from
+     * event dispatch thread, as debugger must not be accessed from there.
+     *
+     * @param operation operation
+     * @return result of the operation
+     */
+    private static <T> T callOffEventDispatchThread(Supplier<T> operation) {
+        List<T> result = new ArrayList<>(1);
+        RuntimeException[] failure = new RuntimeException[1];
+        LOADER_RP.post(() -> {
+            try {
+                result.add(operation.get());
+            } catch (RuntimeException ex) {
+                failure[0] = ex;
+            }
+        }).waitFinished();
 
-        long index = 0;
-        byte[] data = null;
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        if (result.isEmpty()) {
+            throw new IllegalStateException("Loading of debugger data was interrupted");
+        }
+        return result.get(0);
+    }
+
+    private void requestPage(long pageIndex) {
+        synchronized (pendingPages) {
+            Long failureTime = failedPages.get(pageIndex);
+            if (failureTime != null) {
+                if (System.currentTimeMillis() - failureTime < FAILED_PAGE_RETRY_DELAY) {
+                    return;
+                }
+                failedPages.remove(pageIndex);
+            }
+
+            if (!pendingPages.add(pageIndex)) {
+                return;
+            }
+        }
+
+        LOADER_RP.post(() -> {
+            boolean loaded = false;
+            boolean changed = true;
+            try {
+                byte[] page = pageProvider.getPage(pageIndex);
+                if (page != null) {
+                    changed = storePage(pageIndex, page);
+                    loaded = true;
+                }
+            } catch (RuntimeException ex) {
+                Logger.getLogger(DebugViewData.class.getName()).log(Level.FINE, "Debugger page loading failed", ex);
+            }
+
+            List<PageLoadedListener> listeners;
+            synchronized (pendingPages) {
+                pendingPages.remove(pageIndex);
+                if (!loaded) {
+                    failedPages.put(pageIndex, System.currentTimeMillis());
+                }
+                listeners = new ArrayList<>(pageLoadedListeners);
+            }
+
+            if (!changed) {
+                // Stale page from snapshot is already shown
+                return;
+            }
+
+            SwingUtilities.invokeLater(() -> {
+                for (PageLoadedListener listener : listeners) {
+                    listener.pageLoaded(pageIndex);
+                }
+            });
+        });
     }
 
     private static IndexOutOfBoundsException createOfOutBoundsException() {
         return new IndexOutOfBoundsException("Requested data out of bounds");
     }
+
+    /**
+     * Listener for pages loaded in background.
+     */
+    @NullMarked
+    public interface PageLoadedListener {
+
+        /**
+         * Notifies that page was loaded, called from event dispatch thread.
+         *
+         * @param pageIndex page index
+         */
+        void pageLoaded(long pageIndex);
+    }
 }
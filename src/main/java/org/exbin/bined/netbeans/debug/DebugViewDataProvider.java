@@ -33,8 +33,19 @@ public interface DebugViewDataProvider {
 
     /**
      * Returns data provider data.
+     * <p>
+     * Called outside of event dispatch thread.
      *
      * @return binary data
      */
     BinaryData getData();
+
+    /**
+     * Returns size of the data if it is known without fetching the data.
+     *
+     * @return data size or -1 if unknown
+     */
+    default long getDataSize() {
+        return -1;
+    }
 }
@@ -41,4 +41,9 @@ public class DefaultDebugViewDataProvider implements DebugViewDataProvider {
     public BinaryData getData() {
         return data;
     }
+
+    @Override
+    public long getDataSize() {
+        return data.getDataSize();
+    }
 }
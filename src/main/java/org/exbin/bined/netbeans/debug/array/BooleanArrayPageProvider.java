@@ -15,7 +15,9 @@
  */
 package org.exbin.bined.netbeans.debug.array;
 
+import com.sun.jdi.PrimitiveValue;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.exbin.bined.jaguif.objectdata.PageProvider;
 import org.exbin.bined.netbeans.debug.DebugViewData;
 
@@ -29,9 +31,12 @@ import org.netbeans.api.debugger.jpda.ObjectVariable;
 public class BooleanArrayPageProvider implements PageProvider {
 
     private final ObjectVariable arrayRef;
+    @Nullable
+    private final JdiArrayAccess arrayAccess;
 
     public BooleanArrayPageProvider(ObjectVariable arrayRef) {
         this.arrayRef = arrayRef;
+        arrayAccess = JdiArrayAccess.create(arrayRef);
     }
 
     @Override
@@ -42,8 +47,20 @@ public class BooleanArrayPageProvider implements PageProvider {
         if (documentSize - startPos < DebugViewData.PAGE_SIZE * 8) {
             length = (int) (documentSize - startPos);
         }
-        final Field[] values = arrayRef.getFields(startPos, startPos + length);
         byte[] result = new byte[(length + 7) / 8];
+        if (arrayAccess != null) {
+            int count = Math.min(length, arrayAccess.getLength() - startPos);
+            PrimitiveValue[] values = arrayAccess.getValues(startPos, count);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i].booleanValue()) {
+                    result[i / 8] |= (byte) (0x80 >> (i % 8));
+                }
+            }
+
+            return result;
+        }
+
+        final Field[] values = arrayRef.getFields(startPos, startPos + length);
         int bitMask = 0x80;
         int bytePos = 0;
         for (int i = 0; i < values.length; i++) {
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.debug.array;
+
+import com.sun.jdi.PrimitiveValue;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.exbin.bined.jaguif.objectdata.PageProvider;
+import org.exbin.bined.netbeans.debug.DebugViewData;
+import org.netbeans.api.debugger.jpda.Field;
+import org.netbeans.api.debugger.jpda.ObjectVariable;
+
+/**
+ * Array of boxed primitive values data source for debugger view.
+ * <p>
+ * Null elements are shown as zero values.
+ */
+@NullMarked
+public class BoxedArrayPageProvider implements PageProvider {
+
+    private static final String BOXED_VALUE_FIELD = "value";
+
+    private final ObjectVariable arrayRef;
+    private final BoxedType boxedType;
+    private final ByteOrder byteOrder;
+    @Nullable
+    private final JdiArrayAccess arrayAccess;
+
+    public BoxedArrayPageProvider(ObjectVariable arrayRef, BoxedType boxedType, ByteOrder byteOrder) {
+        this.arrayRef = arrayRef;
+        this.boxedType = boxedType;
+        this.byteOrder = byteOrder;
+        arrayAccess = JdiArrayAccess.create(arrayRef);
+    }
+
+    @Override
+    public byte[] getPage(long pageIndex) {
+        int valueSize = boxedType.getSize();
+        int pageSize = DebugViewData.PAGE_SIZE / valueSize;
+        int startPos = (int) (pageIndex * pageSize);
+        int length = pageSize;
+        if (arrayRef.getFieldsCount() - startPos < pageSize) {
+            length = arrayRef.getFieldsCount() - startPos;
+        }
+        byte[] result = new byte[length * valueSize];
+        ByteBuffer buffer = ByteBuffer.wrap(result).order(byteOrder);
+        if (arrayAccess != null) {
+            PrimitiveValue[] values = arrayAccess.getBoxedValues(startPos, length);
+            for (int i = 0; i < values.length; i++) {
+                PrimitiveValue value = values[i];
+                if (value != null) {
+                    boxedType.putValue(buffer, i * valueSize, value);
+                }
+            }
+
+            return result;
+        }
+
+        final Field[] values = arrayRef.getFields(startPos, startPos + length);
+        for (int i = 0; i < values.length; i++) {
+            Field rawValue = values[i];
+            if (rawValue instanceof ObjectVariable) {
+                Field valueField = ((ObjectVariable) rawValue).getField(BOXED_VALUE_FIELD);
+                if (valueField != null) {
+                    boxedType.putValue(buffer, i * valueSize, valueField.getValue());
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public long getDocumentSize() {
+        return (long) arrayRef.getFieldsCount() * boxedType.getSize();
+    }
+
+    /**
+     * Supported boxed primitive types.
+     */
+    public enum BoxedType {
+        BOOLEAN("java.lang.Boolean", 1),
+        BYTE("java.lang.Byte", 1),
+        SHORT("java.lang.Short", 2),
+        CHARACTER("java.lang.Character", 2),
+        INTEGER("java.lang.Integer", 4),
+        LONG("java.lang.Long", 8),
+        FLOAT("java.lang.Float", 4),
+        DOUBLE("java.lang.Double", 8);
+
+        private final String className;
+        private final int size;
+
+        private BoxedType(String className, int size) {
+            this.className = className;
+            this.size = size;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        @Nullable
+        public static BoxedType findByClassName(String className) {
+            for (BoxedType boxedType : values()) {
+                if (boxedType.className.equals(className)) {
+                    return boxedType;
+                }
+            }
+
+            return null;
+        }
+
+        private void putValue(ByteBuffer buffer, int position, PrimitiveValue value) {
+            switch (this) {
+                case BOOLEAN:
+                    buffer.put(position, value.booleanValue() ? (byte) 1 : 0);
+                    break;
+                case BYTE:
+                    buffer.put(position, value.byteValue());
+                    break;
+                case SHORT:
+                    buffer.putShort(position, value.shortValue());
+                    break;
+                case CHARACTER:
+                    buffer.putChar(position, value.charValue());
+                    break;
+                case INTEGER:
+                    buffer.putInt(position, value.intValue());
+                    break;
+                case LONG:
+                    buffer.putLong(position, value.longValue());
+                    break;
+                case FLOAT:
+                    buffer.putFloat(position, value.floatValue());
+                    break;
+                case DOUBLE:
+                    buffer.putDouble(position, value.doubleValue());
+                    break;
+            }
+        }
+
+        private void putValue(ByteBuffer buffer, int position, String value) {
+            switch (this) {
+                case BOOLEAN:
+                    buffer.put(position, Boolean.parseBoolean(value) ? (byte) 1 : 0);
+                    break;
+                case BYTE:
+                    buffer.put(position, Byte.parseByte(value));
+                    break;
+                case SHORT:
+                    buffer.putShort(position, Short.parseShort(value));
+                    break;
+                case CHARACTER:
+                    if (value.length() == 3) {
+                        buffer.putChar(position, value.charAt(1));
+                    }
+                    break;
+                case INTEGER:
+                    buffer.putInt(position, Integer.parseInt(value));
+                    break;
+                case LONG:
+                    buffer.putLong(position, Long.parseLong(value));
+                    break;
+                case FLOAT:
+                    buffer.putFloat(position, Float.parseFloat(value));
+                    break;
+                case DOUBLE:
+                    buffer.putDouble(position, Double.parseDouble(value));
+                    break;
+            }
+        }
+    }
+}
@@ -15,7 +15,9 @@
  */
 package org.exbin.bined.netbeans.debug.array;
 
+import com.sun.jdi.PrimitiveValue;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.exbin.bined.jaguif.objectdata.PageProvider;
 import org.exbin.bined.netbeans.debug.DebugViewData;
 
@@ -29,20 +31,48 @@ import org.netbeans.api.debugger.jpda.ObjectVariable;
 public class ByteArrayPageProvider implements PageProvider {
 
     private final ObjectVariable arrayRef;
+    private final int offset;
+    private final int regionLength;
+    @Nullable
+    private final JdiArrayAccess arrayAccess;
 
     public ByteArrayPageProvider(ObjectVariable arrayRef) {
+        this(arrayRef, 0, arrayRef.getFieldsCount());
+    }
+
+    /**
+     * Creates data source for region of the byte array.
+     *
+     * @param arrayRef array variable
+     * @param offset offset of the region
+     * @param regionLength length of the region
+     */
+    public ByteArrayPageProvider(ObjectVariable arrayRef, int offset, int regionLength) {
         this.arrayRef = arrayRef;
+        this.offset = offset;
+        this.regionLength = regionLength;
+        arrayAccess = JdiArrayAccess.create(arrayRef);
     }
 
     @Override
     public byte[] getPage(long pageIndex) {
         int startPos = (int) (pageIndex * DebugViewData.PAGE_SIZE);
         int length = DebugViewData.PAGE_SIZE;
-        if (arrayRef.getFieldsCount() - startPos < DebugViewData.PAGE_SIZE) {
-            length = arrayRef.getFieldsCount() - startPos;
+        if (regionLength - startPos < DebugViewData.PAGE_SIZE) {
+            length = regionLength - startPos;
         }
-        final Field[] values = arrayRef.getFields(startPos, startPos + length);
+        startPos += offset;
         byte[] result = new byte[length];
+        if (arrayAccess != null) {
+            PrimitiveValue[] values = arrayAccess.getValues(startPos, length);
+            for (int i = 0; i < values.length; i++) {
+                result[i] = values[i].byteValue();
+            }
+
+            return result;
+        }
+
+        final Field[] values = arrayRef.getFields(startPos, startPos + length);
         for (int i = 0; i < values.length; i++) {
             Field rawValue = values[i];
             if (rawValue instanceof ObjectVariable) {
@@ -58,6 +88,6 @@ public class ByteArrayPageProvider implements PageProvider {
 
     @Override
     public long getDocumentSize() {
-        return arrayRef.getFieldsCount();
+        return regionLength;
     }
 }
@@ -15,13 +15,17 @@
  */
 package org.exbin.bined.netbeans.debug.array;
 
+import com.sun.jdi.PrimitiveValue;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.exbin.bined.jaguif.objectdata.PageProvider;
 import org.exbin.bined.netbeans.debug.DebugViewData;
 import org.netbeans.api.debugger.jpda.Field;
 import org.netbeans.api.debugger.jpda.ObjectVariable;
 
-
 /**
  * Character array data source for debugger view.
  */
@@ -29,9 +33,18 @@ import org.netbeans.api.debugger.jpda.ObjectVariable;
 public class CharArrayPageProvider implements PageProvider {
 
     private final ObjectVariable arrayRef;
+    private final ByteOrder byteOrder;
+    @Nullable
+    private final JdiArrayAccess arrayAccess;
 
     public CharArrayPageProvider(ObjectVariable arrayRef) {
+        this(arrayRef, ByteOrder.BIG_ENDIAN);
+    }
+
+    public CharArrayPageProvider(ObjectVariable arrayRef, ByteOrder byteOrder) {
         this.arrayRef = arrayRef;
+        this.byteOrder = byteOrder;
+        arrayAccess = JdiArrayAccess.create(arrayRef);
     }
 
     @Override
@@ -42,14 +55,20 @@ public class CharArrayPageProvider implements PageProvider {
         if (arrayRef.getFieldsCount() - startPos < pageSize) {
             length = arrayRef.getFieldsCount() - startPos;
         }
-        final Field[] values = arrayRef.getFields(startPos, startPos + length);
         byte[] result = new byte[length * 2];
-        for (int i = 0; i < values.length; i++) {
-            Field rawValue = values[i];
-            int value = rawValue.getValue().charAt(1);
+        CharBuffer buffer = ByteBuffer.wrap(result).order(byteOrder).asCharBuffer();
+        if (arrayAccess != null) {
+            PrimitiveValue[] values = arrayAccess.getValues(startPos, length);
+            for (PrimitiveValue value : values) {
+                buffer.put(value.charValue());
+            }
 
-            result[i * 2 ] = (byte) ((value >> 8) & 0xff);
-            result[i * 2 + 1] = (byte) (value & 0xff);
+            return result;
+        }
+
+        final Field[] values = arrayRef.getFields(startPos, startPos + length);
+        for (Field rawValue : values) {
+            buffer.put(rawValue.getValue().charAt(1));
         }
 
         return result;
@@ -57,6 +76,6 @@ public class CharArrayPageProvider implements PageProvider {
 
     @Override
     public long getDocumentSize() {
-        return arrayRef.getFieldsCount() * 2;
+        return (long) arrayRef.getFieldsCount() * 2;
     }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.debug.array;
+
+import com.sun.jdi.ObjectCollectedException;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.PrimitiveValue;
+import java.io.InvalidObjectException;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.exbin.bined.jaguif.objectdata.PageProvider;
+import org.exbin.bined.netbeans.debug.DebugViewData;
+import org.netbeans.api.debugger.jpda.InvalidExpressionException;
+import org.netbeans.api.debugger.jpda.JDIObjectVariable;
+import org.netbeans.api.debugger.jpda.JPDADebugger;
+import org.netbeans.api.debugger.jpda.ObjectVariable;
+import org.netbeans.api.debugger.jpda.Variable;
+
+/**
+ * Direct byte buffer data source for debugger view.
+ * <p>
+ * Native memory of the buffer is copied in chunks of multiple pages into byte
+ * array created in debugged virtual machine using bulk get method of
+ * duplicate of the buffer, so that position and limit of the buffer are not
+ * affected. Last copied chunk is kept, so that pages of the same chunk don't
+ * require method invocation.
+ * <p>
+ * Requires method invocation, so it must not be used from event dispatch
+ * thread.
+ */
+@NullMarked
+public class DirectByteBufferPageProvider implements PageProvider {
+
+    private static final int CHUNK_SIZE = 32 * DebugViewData.PAGE_SIZE;
+
+    private final ObjectVariable bufferRef;
+    private final JPDADebugger debugger;
+    private final int capacity;
+    private long chunkIndex = -1;
+    private byte[] chunk = new byte[0];
+
+    public DirectByteBufferPageProvider(ObjectVariable bufferRef, JPDADebugger debugger, int capacity) {
+        this.bufferRef = bufferRef;
+        this.debugger = debugger;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized byte[] getPage(long pageIndex) {
+        long startPos = pageIndex * DebugViewData.PAGE_SIZE;
+        long requestedChunkIndex = startPos / CHUNK_SIZE;
+        if (requestedChunkIndex != chunkIndex) {
+            chunk = readChunk((int) (requestedChunkIndex * CHUNK_SIZE));
+            chunkIndex = requestedChunkIndex;
+        }
+
+        int chunkOffset = (int) (startPos % CHUNK_SIZE);
+        int length = Math.min(DebugViewData.PAGE_SIZE, chunk.length - chunkOffset);
+        byte[] result = new byte[length];
+        System.arraycopy(chunk, chunkOffset, result, 0, length);
+        return result;
+    }
+
+    private byte[] readChunk(int startPos) {
+        int length = Math.min(CHUNK_SIZE, capacity - startPos);
+        try {
+            ObjectVariable duplicate = (ObjectVariable) bufferRef.invokeMethod("duplicate", "()Ljava/nio/ByteBuffer;", new Variable[0]);
+            ObjectReference pinnedDuplicate = pin(duplicate);
+            try {
+                duplicate.invokeMethod("clear", "()Ljava/nio/Buffer;", new Variable[0]);
+                duplicate.invokeMethod("position", "(I)Ljava/nio/Buffer;", new Variable[]{debugger.createMirrorVar(startPos, true)});
+                ObjectVariable target = (ObjectVariable) debugger.createMirrorVar(new byte[length]);
+                ObjectReference pinnedTarget = pin(target);
+                try {
+                    duplicate.invokeMethod("get", "([BII)Ljava/nio/ByteBuffer;", new Variable[]{target, debugger.createMirrorVar(0, true), debugger.createMirrorVar(length, true)});
+                    return readTarget(target, length);
+                } finally {
+                    unpin(pinnedTarget);
+                }
+            } finally {
+                unpin(pinnedDuplicate);
+            }
+        } catch (NoSuchMethodException | InvalidExpressionException | InvalidObjectException | ObjectCollectedException ex) {
+            throw new IllegalStateException("Unable to read content of direct buffer", ex);
+        }
+    }
+
+    private static byte[] readTarget(ObjectVariable target, int length) {
+        JdiArrayAccess arrayAccess = JdiArrayAccess.create(target);
+        if (arrayAccess == null) {
+            return readChunkByPages(new ByteArrayPageProvider(target), length);
+        }
+
+        byte[] result = new byte[length];
+        PrimitiveValue[] values = arrayAccess.getValues(0, length);
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i].byteValue();
+        }
+        return result;
+    }
+
+    /**
+     * Disables garbage collection of object created in debugged virtual
+     * machine, as it is not referenced from there.
+     *
+     * @param variable object variable
+     * @return pinned object or null if JDI object is not available
+     */
+    @Nullable
+    private static ObjectReference pin(ObjectVariable variable) {
+        if (!(variable instanceof JDIObjectVariable)) {
+            return null;
+        }
+
+        ObjectReference objectReference = ((JDIObjectVariable) variable).getJDIObject();
+        objectReference.disableCollection();
+        return objectReference;
+    }
+
+    private static void unpin(@Nullable ObjectReference objectReference) {
+        if (objectReference != null) {
+            objectReference.enableCollection();
+        }
+    }
+
+    private static byte[] readChunkByPages(PageProvider pageProvider, int length) {
+        byte[] result = new byte[length];
+        int pagesCount = (length + DebugViewData.PAGE_SIZE - 1) / DebugViewData.PAGE_SIZE;
+        for (int pageIndex = 0; pageIndex < pagesCount; pageIndex++) {
+            byte[] page = pageProvider.getPage(pageIndex);
+            System.arraycopy(page, 0, result, pageIndex * DebugViewData.PAGE_SIZE, page.length);
+        }
+        return result;
+    }
+
+    @Override
+    public long getDocumentSize() {
+        return capacity;
+    }
+}
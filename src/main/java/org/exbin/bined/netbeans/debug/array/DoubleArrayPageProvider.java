@@ -15,27 +15,36 @@
  */
 package org.exbin.bined.netbeans.debug.array;
 
+import com.sun.jdi.PrimitiveValue;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.exbin.bined.jaguif.objectdata.PageProvider;
 import org.exbin.bined.netbeans.debug.DebugViewData;
 import org.netbeans.api.debugger.jpda.Field;
 import org.netbeans.api.debugger.jpda.ObjectVariable;
 
-
 /**
  * Double array data source for debugger view.
  */
 @NullMarked
 public class DoubleArrayPageProvider implements PageProvider {
 
-    private final byte[] valuesCache = new byte[8];
-    private final ByteBuffer byteBuffer = ByteBuffer.wrap(valuesCache);
-
     private final ObjectVariable arrayRef;
+    private final ByteOrder byteOrder;
+    @Nullable
+    private final JdiArrayAccess arrayAccess;
 
     public DoubleArrayPageProvider(ObjectVariable arrayRef) {
+        this(arrayRef, ByteOrder.BIG_ENDIAN);
+    }
+
+    public DoubleArrayPageProvider(ObjectVariable arrayRef, ByteOrder byteOrder) {
         this.arrayRef = arrayRef;
+        this.byteOrder = byteOrder;
+        arrayAccess = JdiArrayAccess.create(arrayRef);
     }
 
     @Override
@@ -46,15 +55,20 @@ public class DoubleArrayPageProvider implements PageProvider {
         if (arrayRef.getFieldsCount() - startPos < pageSize) {
             length = arrayRef.getFieldsCount() - startPos;
         }
-        final Field[] values = arrayRef.getFields(startPos, startPos + length);
         byte[] result = new byte[length * 8];
-        for (int i = 0; i < values.length; i++) {
-            Field rawValue = values[i];
-            double value = Double.parseDouble(rawValue.getValue());
+        DoubleBuffer buffer = ByteBuffer.wrap(result).order(byteOrder).asDoubleBuffer();
+        if (arrayAccess != null) {
+            PrimitiveValue[] values = arrayAccess.getValues(startPos, length);
+            for (PrimitiveValue value : values) {
+                buffer.put(value.doubleValue());
+            }
+
+            return result;
+        }
 
-            byteBuffer.rewind();
-            byteBuffer.putDouble(value);
-            System.arraycopy(valuesCache, 0, result, i * 8, 8);
+        final Field[] values = arrayRef.getFields(startPos, startPos + length);
+        for (Field rawValue : values) {
+            buffer.put(Double.parseDouble(rawValue.getValue()));
         }
 
         return result;
@@ -62,6 +76,6 @@ public class DoubleArrayPageProvider implements PageProvider {
 
     @Override
     public long getDocumentSize() {
-        return arrayRef.getFieldsCount() * 8;
+        return (long) arrayRef.getFieldsCount() * 8;
     }
 }
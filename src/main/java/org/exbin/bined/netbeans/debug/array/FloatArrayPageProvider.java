@@ -15,27 +15,36 @@
  */
 package org.exbin.bined.netbeans.debug.array;
 
+import com.sun.jdi.PrimitiveValue;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.exbin.bined.jaguif.objectdata.PageProvider;
 import org.exbin.bined.netbeans.debug.DebugViewData;
 import org.netbeans.api.debugger.jpda.Field;
 import org.netbeans.api.debugger.jpda.ObjectVariable;
 
-
 /**
  * Float array data source for debugger view.
  */
 @NullMarked
 public class FloatArrayPageProvider implements PageProvider {
 
-    private final byte[] valuesCache = new byte[4];
-    private final ByteBuffer byteBuffer = ByteBuffer.wrap(valuesCache);
-
     private final ObjectVariable arrayRef;
+    private final ByteOrder byteOrder;
+    @Nullable
+    private final JdiArrayAccess arrayAccess;
 
     public FloatArrayPageProvider(ObjectVariable arrayRef) {
+        this(arrayRef, ByteOrder.BIG_ENDIAN);
+    }
+
+    public FloatArrayPageProvider(ObjectVariable arrayRef, ByteOrder byteOrder) {
         this.arrayRef = arrayRef;
+        this.byteOrder = byteOrder;
+        arrayAccess = JdiArrayAccess.create(arrayRef);
     }
 
     @Override
@@ -46,15 +55,20 @@ public class FloatArrayPageProvider implements PageProvider {
         if (arrayRef.getFieldsCount() - startPos < pageSize) {
             length = arrayRef.getFieldsCount() - startPos;
         }
-        final Field[] values = arrayRef.getFields(startPos, startPos + length);
         byte[] result = new byte[length * 4];
-        for (int i = 0; i < values.length; i++) {
-            Field rawValue = values[i];
-            float value = Float.parseFloat(rawValue.getValue());
+        FloatBuffer buffer = ByteBuffer.wrap(result).order(byteOrder).asFloatBuffer();
+        if (arrayAccess != null) {
+            PrimitiveValue[] values = arrayAccess.getValues(startPos, length);
+            for (PrimitiveValue value : values) {
+                buffer.put(value.floatValue());
+            }
+
+            return result;
+        }
 
-            byteBuffer.rewind();
-            byteBuffer.putFloat(value);
-            System.arraycopy(valuesCache, 0, result, i * 4, 4);
+        final Field[] values = arrayRef.getFields(startPos, startPos + length);
+        for (Field rawValue : values) {
+            buffer.put(Float.parseFloat(rawValue.getValue()));
         }
 
         return result;
@@ -62,6 +76,6 @@ public class FloatArrayPageProvider implements PageProvider {
 
     @Override
     public long getDocumentSize() {
-        return arrayRef.getFieldsCount() * 4;
+        return (long) arrayRef.getFieldsCount() * 4;
     }
 }
@@ -15,7 +15,12 @@
  */
 package org.exbin.bined.netbeans.debug.array;
 
+import com.sun.jdi.PrimitiveValue;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.exbin.bined.jaguif.objectdata.PageProvider;
 import org.exbin.bined.netbeans.debug.DebugViewData;
 import org.netbeans.api.debugger.jpda.Field;
@@ -28,9 +33,18 @@ import org.netbeans.api.debugger.jpda.ObjectVariable;
 public class IntegerArrayPageProvider implements PageProvider {
 
     private final ObjectVariable arrayRef;
+    private final ByteOrder byteOrder;
+    @Nullable
+    private final JdiArrayAccess arrayAccess;
 
     public IntegerArrayPageProvider(ObjectVariable arrayRef) {
+        this(arrayRef, ByteOrder.BIG_ENDIAN);
+    }
+
+    public IntegerArrayPageProvider(ObjectVariable arrayRef, ByteOrder byteOrder) {
         this.arrayRef = arrayRef;
+        this.byteOrder = byteOrder;
+        arrayAccess = JdiArrayAccess.create(arrayRef);
     }
 
     @Override
@@ -41,16 +55,20 @@ public class IntegerArrayPageProvider implements PageProvider {
         if (arrayRef.getFieldsCount() - startPos < pageSize) {
             length = arrayRef.getFieldsCount() - startPos;
         }
-        final Field[] values = arrayRef.getFields(startPos, startPos + length);
         byte[] result = new byte[length * 4];
-        for (int i = 0; i < values.length; i++) {
-            Field rawValue = values[i];
-            int value = Integer.parseInt(rawValue.getValue());
-
-            result[i * 4] = (byte) (value >> 24);
-            result[i * 4 + 1] = (byte) ((value >> 16) & 0xff);
-            result[i * 4 + 2] = (byte) ((value >> 8) & 0xff);
-            result[i * 4 + 3] = (byte) (value & 0xff);
+        IntBuffer buffer = ByteBuffer.wrap(result).order(byteOrder).asIntBuffer();
+        if (arrayAccess != null) {
+            PrimitiveValue[] values = arrayAccess.getValues(startPos, length);
+            for (PrimitiveValue value : values) {
+                buffer.put(value.intValue());
+            }
+
+            return result;
+        }
+
+        final Field[] values = arrayRef.getFields(startPos, startPos + length);
+        for (Field rawValue : values) {
+            buffer.put(Integer.parseInt(rawValue.getValue()));
         }
 
         return result;
@@ -58,6 +76,6 @@ public class IntegerArrayPageProvider implements PageProvider {
 
     @Override
     public long getDocumentSize() {
-        return arrayRef.getFieldsCount() * 4;
+        return (long) arrayRef.getFieldsCount() * 4;
     }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.debug.array;
+
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.PrimitiveValue;
+import com.sun.jdi.Value;
+import java.util.List;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.netbeans.api.debugger.jpda.JDIObjectVariable;
+import org.netbeans.api.debugger.jpda.ObjectVariable;
+
+/**
+ * Bulk access to values of primitive array using JDI.
+ * <p>
+ * Range of values is fetched in single request instead of requesting and
+ * parsing textual value of each field.
+ */
+@NullMarked
+public class JdiArrayAccess {
+
+    private static final String BOXED_VALUE_FIELD = "value";
+
+    private final ArrayReference arrayReference;
+
+    private JdiArrayAccess(ArrayReference arrayReference) {
+        this.arrayReference = arrayReference;
+    }
+
+    /**
+     * Creates bulk access for given array variable if supported.
+     *
+     * @param arrayVariable array variable
+     * @return array access or null if variable doesn't provide JDI array
+     * reference
+     */
+    @Nullable
+    public static JdiArrayAccess create(ObjectVariable arrayVariable) {
+        if (arrayVariable instanceof JDIObjectVariable) {
+            ObjectReference objectReference = ((JDIObjectVariable) arrayVariable).getJDIObject();
+            if (objectReference instanceof ArrayReference) {
+                return new JdiArrayAccess((ArrayReference) objectReference);
+            }
+        }
+
+        return null;
+    }
+
+    public int getLength() {
+        return arrayReference.length();
+    }
+
+    /**
+     * Returns range of values of the array.
+     *
+     * @param index index of the first value
+     * @param length count of values
+     * @return primitive values
+     */
+    public PrimitiveValue[] getValues(int index, int length) {
+        List<Value> values = arrayReference.getValues(index, length);
+        return values.toArray(new PrimitiveValue[values.size()]);
+    }
+
+    /**
+     * Returns range of values of the array of boxed primitive values.
+     * <p>
+     * Array elements are fetched in single request, value of each element
+     * requires separate request.
+     *
+     * @param index index of the first value
+     * @param length count of values
+     * @return primitive values, null for null elements
+     */
+    public @Nullable PrimitiveValue[] getBoxedValues(int index, int length) {
+        List<Value> values = arrayReference.getValues(index, length);
+        PrimitiveValue[] result = new PrimitiveValue[values.size()];
+        com.sun.jdi.Field valueField = null;
+        for (int i = 0; i < result.length; i++) {
+            Value value = values.get(i);
+            if (value instanceof ObjectReference) {
+                ObjectReference boxedValue = (ObjectReference) value;
+                if (valueField == null) {
+                    valueField = boxedValue.referenceType().fieldByName(BOXED_VALUE_FIELD);
+                    if (valueField == null) {
+                        continue;
+                    }
+                }
+                result[i] = (PrimitiveValue) boxedValue.getValue(valueField);
+            }
+        }
+
+        return result;
+    }
+}
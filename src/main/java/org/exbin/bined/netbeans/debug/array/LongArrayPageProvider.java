@@ -15,11 +15,14 @@
  */
 package org.exbin.bined.netbeans.debug.array;
 
-import java.math.BigInteger;
+import com.sun.jdi.PrimitiveValue;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.exbin.bined.jaguif.objectdata.PageProvider;
 import org.exbin.bined.netbeans.debug.DebugViewData;
-import org.exbin.bined.jaguif.inspector.gui.BasicValuesPanel;
 import org.netbeans.api.debugger.jpda.Field;
 import org.netbeans.api.debugger.jpda.ObjectVariable;
 
@@ -30,9 +33,18 @@ import org.netbeans.api.debugger.jpda.ObjectVariable;
 public class LongArrayPageProvider implements PageProvider {
 
     private final ObjectVariable arrayRef;
+    private final ByteOrder byteOrder;
+    @Nullable
+    private final JdiArrayAccess arrayAccess;
 
     public LongArrayPageProvider(ObjectVariable arrayRef) {
+        this(arrayRef, ByteOrder.BIG_ENDIAN);
+    }
+
+    public LongArrayPageProvider(ObjectVariable arrayRef, ByteOrder byteOrder) {
         this.arrayRef = arrayRef;
+        this.byteOrder = byteOrder;
+        arrayAccess = JdiArrayAccess.create(arrayRef);
     }
 
     @Override
@@ -43,18 +55,20 @@ public class LongArrayPageProvider implements PageProvider {
         if (arrayRef.getFieldsCount() - startPos < pageSize) {
             length = arrayRef.getFieldsCount() - startPos;
         }
-        final Field[] values = arrayRef.getFields(startPos, startPos + length);
         byte[] result = new byte[length * 8];
-        for (int i = 0; i < values.length; i++) {
-            Field rawValue = values[i];
-            long value = Long.parseLong(rawValue.getValue());
-
-            BigInteger bigInteger = BigInteger.valueOf(value);
-            for (int bit = 0; bit < 7; bit++) {
-                BigInteger nextByte = bigInteger.and(BasicValuesPanel.BIG_INTEGER_BYTE_MASK);
-                result[i * 8 + 7 - bit] = nextByte.byteValue();
-                bigInteger = bigInteger.shiftRight(8);
+        LongBuffer buffer = ByteBuffer.wrap(result).order(byteOrder).asLongBuffer();
+        if (arrayAccess != null) {
+            PrimitiveValue[] values = arrayAccess.getValues(startPos, length);
+            for (PrimitiveValue value : values) {
+                buffer.put(value.longValue());
             }
+
+            return result;
+        }
+
+        final Field[] values = arrayRef.getFields(startPos, startPos + length);
+        for (Field rawValue : values) {
+            buffer.put(Long.parseLong(rawValue.getValue()));
         }
 
         return result;
@@ -62,6 +76,6 @@ public class LongArrayPageProvider implements PageProvider {
 
     @Override
     public long getDocumentSize() {
-        return arrayRef.getFieldsCount() * 8;
+        return (long) arrayRef.getFieldsCount() * 8;
     }
 }
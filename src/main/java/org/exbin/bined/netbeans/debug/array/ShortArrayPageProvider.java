@@ -15,7 +15,12 @@
  */
 package org.exbin.bined.netbeans.debug.array;
 
+import com.sun.jdi.PrimitiveValue;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.exbin.bined.jaguif.objectdata.PageProvider;
 import org.exbin.bined.netbeans.debug.DebugViewData;
 import org.netbeans.api.debugger.jpda.Field;
@@ -28,9 +33,18 @@ import org.netbeans.api.debugger.jpda.ObjectVariable;
 public class ShortArrayPageProvider implements PageProvider {
 
     private final ObjectVariable arrayRef;
+    private final ByteOrder byteOrder;
+    @Nullable
+    private final JdiArrayAccess arrayAccess;
 
     public ShortArrayPageProvider(ObjectVariable arrayRef) {
+        this(arrayRef, ByteOrder.BIG_ENDIAN);
+    }
+
+    public ShortArrayPageProvider(ObjectVariable arrayRef, ByteOrder byteOrder) {
         this.arrayRef = arrayRef;
+        this.byteOrder = byteOrder;
+        arrayAccess = JdiArrayAccess.create(arrayRef);
     }
 
     @Override
@@ -41,13 +55,20 @@ public class ShortArrayPageProvider implements PageProvider {
         if (arrayRef.getFieldsCount() - startPos < pageSize) {
             length = arrayRef.getFieldsCount() - startPos;
         }
-        final Field[] values = arrayRef.getFields(startPos, startPos + length);
         byte[] result = new byte[length * 2];
-        for (int i = 0; i < values.length; i++) {
-            Field rawValue = values[i];
-            short value = Short.parseShort(rawValue.getValue());
-            result[i * 2] = (byte) (value >> 8);
-            result[i * 2 + 1] = (byte) (value & 0xff);
+        ShortBuffer buffer = ByteBuffer.wrap(result).order(byteOrder).asShortBuffer();
+        if (arrayAccess != null) {
+            PrimitiveValue[] values = arrayAccess.getValues(startPos, length);
+            for (PrimitiveValue value : values) {
+                buffer.put(value.shortValue());
+            }
+
+            return result;
+        }
+
+        final Field[] values = arrayRef.getFields(startPos, startPos + length);
+        for (Field rawValue : values) {
+            buffer.put(Short.parseShort(rawValue.getValue()));
         }
 
         return result;
@@ -55,6 +76,6 @@ public class ShortArrayPageProvider implements PageProvider {
 
     @Override
     public long getDocumentSize() {
-        return arrayRef.getFieldsCount() * 2;
+        return (long) arrayRef.getFieldsCount() * 2;
     }
 }
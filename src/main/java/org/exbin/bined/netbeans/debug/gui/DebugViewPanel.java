@@ -24,23 +24,32 @@ import java.awt.event.MouseEvent;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.jspecify.annotations.Nullable;
 import org.jspecify.annotations.NullMarked;
 import javax.swing.AbstractAction;
+import javax.swing.JButton;
 import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
 import javax.swing.event.PopupMenuEvent;
 import javax.swing.event.PopupMenuListener;
 import org.exbin.bined.EditMode;
 import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.array.ByteArrayData;
 import org.exbin.bined.CodeAreaCaretPosition;
 import org.exbin.bined.CodeAreaUtils;
 import org.exbin.bined.CodeType;
 import org.exbin.bined.EditOperation;
 import org.exbin.bined.SelectionRange;
 import org.exbin.bined.highlight.swing.NonprintablesCodeAreaAssessor;
+import org.exbin.bined.netbeans.debug.ArraySnapshot;
+import org.exbin.bined.netbeans.debug.DebugSnapshotCache;
+import org.exbin.bined.netbeans.debug.DebugViewData;
 import org.exbin.bined.netbeans.debug.DebugViewDataProvider;
+import org.exbin.bined.netbeans.debug.DefaultDebugViewDataProvider;
 import org.exbin.bined.netbeans.gui.BinEdToolbarPanel;
 import org.exbin.bined.swing.CodeAreaSwingUtils;
 import org.exbin.bined.swing.basic.color.CodeAreaColorsProfile;
@@ -74,6 +83,8 @@ import org.exbin.jaguif.action.api.clipboard.ClipboardOperationController;
 import org.exbin.bined.jaguif.component.BinEdDataComponent;
 import org.exbin.jaguif.options.action.OptionsAction;
 import org.exbin.jaguif.utils.DesktopUtils;
+import org.openide.util.RequestProcessor;
+import org.openide.util.RequestProcessor.Task;
 
 /**
  * Panel to show debug view.
@@ -81,8 +92,14 @@ import org.exbin.jaguif.utils.DesktopUtils;
 @NullMarked
 public class DebugViewPanel extends javax.swing.JPanel {
 
-    private final List<DebugViewDataProvider> providers = new ArrayList<>();
+    private static final String FROZEN_SNAPSHOT_PROVIDER_NAME = "frozen snapshot";
+    private static final RequestProcessor SNAPSHOT_RP = new RequestProcessor("BinEd debug snapshot", 1, true);
+    private static final RequestProcessor PROVIDERS_RP = new RequestProcessor("BinEd debug providers", 4, true);
+
+    private final java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(DebugViewPanel.class);
+    private final List<ProviderLoading> providers = new ArrayList<>();
     private int selectedProvider = 0;
+    private int frozenSnapshotProvider = -1;
 
     protected final Font defaultFont;
     protected final SectionCodeAreaLayoutProfile defaultLayoutProfile;
@@ -90,9 +107,14 @@ public class DebugViewPanel extends javax.swing.JPanel {
     protected final CodeAreaColorsProfile defaultColorProfile;
 
     private final JPanel panel;
+    private final JPanel headerPanel = new JPanel(new BorderLayout());
+    private final JButton freezeButton = new JButton();
     private BinEdToolbarPanel toolbarPanel = new BinEdToolbarPanel();
     private StatusBar statusBar;
     private final BinEdDataComponent dataComponent;
+    private final DebugViewData.PageLoadedListener pageLoadedListener = (long pageIndex) -> {
+        dataComponent.getCodeArea().repaint();
+    };
 
     public DebugViewPanel() {
         panel = new JPanel(new BorderLayout());
@@ -222,6 +244,14 @@ public class DebugViewPanel extends javax.swing.JPanel {
         panel.revalidate();
         panel.repaint();
 
+        freezeButton.setText(resourceBundle.getString("freezeButton.text"));
+        freezeButton.setEnabled(false);
+        freezeButton.addActionListener((ActionEvent e) -> {
+            freezeSnapshot();
+        });
+        headerPanel.add(providerComboBox, BorderLayout.CENTER);
+        headerPanel.add(freezeButton, BorderLayout.EAST);
+
         this.add(panel, BorderLayout.CENTER);
         revalidate();
         repaint();
@@ -251,7 +281,7 @@ public class DebugViewPanel extends javax.swing.JPanel {
         int selectedIndex = providerComboBox.getSelectedIndex();
         if (selectedProvider != selectedIndex) {
             selectedProvider = selectedIndex;
-            setContentData(providers.get(selectedProvider).getData());
+            showProvider(selectedProvider);
         }
     }//GEN-LAST:event_providerComboBoxItemStateChanged
 
@@ -259,18 +289,174 @@ public class DebugViewPanel extends javax.swing.JPanel {
     private javax.swing.JComboBox<String> providerComboBox;
     // End of variables declaration//GEN-END:variables
 
+    /**
+     * Adds data provider, its data are fetched in background.
+     *
+     * @param provider data provider
+     */
     public void addProvider(DebugViewDataProvider provider) {
-        if (providers.isEmpty()) {
-            setContentData(provider.getData());
-            add(providerComboBox, java.awt.BorderLayout.PAGE_START);
+        addProvider(startLoading(provider));
+    }
+
+    /**
+     * Adds data provider which data are already being fetched.
+     *
+     * @param loading loading of data provider
+     */
+    public void addProvider(ProviderLoading loading) {
+        providers.add(loading);
+        providerComboBox.addItem(loading.provider.getName());
+        loading.loadedListener = () -> {
+            int index = providers.indexOf(loading);
+            if (index >= 0 && index == selectedProvider) {
+                setContentData(loading.data);
+            }
+        };
+        if (providers.size() == 1) {
+            add(headerPanel, java.awt.BorderLayout.PAGE_START);
+            showProvider(0);
+        }
+    }
+
+    /**
+     * Starts fetching data of provider in background.
+     * <p>
+     * Can be called from any thread, so that fetching starts before view is
+     * populated.
+     *
+     * @param provider data provider
+     * @return loading to add to the panel
+     */
+    public static ProviderLoading startLoading(DebugViewDataProvider provider) {
+        ProviderLoading loading = new ProviderLoading(provider);
+        loading.task = PROVIDERS_RP.create(() -> {
+            BinaryData data;
+            try {
+                // Size might require debugger communication, so it is resolved here
+                loading.dataSize = provider.getDataSize();
+                data = provider.getData();
+                data.getDataSize();
+            } catch (RuntimeException ex) {
+                Logger.getLogger(DebugViewPanel.class.getName()).log(Level.SEVERE, null, ex);
+                data = new ByteArrayData();
+            }
+
+            BinaryData resolvedData = data;
+            SwingUtilities.invokeLater(() -> {
+                loading.data = resolvedData;
+                Runnable listener = loading.loadedListener;
+                if (listener != null) {
+                    listener.run();
+                }
+            });
+        });
+        loading.task.schedule(0);
+        return loading;
+    }
+
+    /**
+     * Cancels fetching of data of providers.
+     */
+    public void cancelLoading() {
+        for (ProviderLoading loading : providers) {
+            loading.cancel();
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        cancelLoading();
+        super.removeNotify();
+    }
+
+    private void showProvider(int index) {
+        ProviderLoading loading = providers.get(index);
+        BinaryData data = loading.data;
+        if (data != null) {
+            setContentData(data);
+            return;
         }
 
-        providers.add(provider);
-        providerComboBox.addItem(provider.getName());
+        // Show known size until data are fetched
+        setContentData(null);
+        long dataSize = loading.dataSize;
+        if (dataSize >= 0) {
+            documentOriginalSize = dataSize;
+            statusBar.setCurrentDocumentSize(dataSize, documentOriginalSize);
+        }
+    }
+
+    /**
+     * Adds or replaces provider for frozen snapshot of the array.
+     *
+     * @param data frozen snapshot data
+     */
+    public void setFrozenSnapshot(BinaryData data) {
+        DefaultDebugViewDataProvider provider = new DefaultDebugViewDataProvider(FROZEN_SNAPSHOT_PROVIDER_NAME, data);
+        if (frozenSnapshotProvider < 0) {
+            frozenSnapshotProvider = providers.size();
+            addProvider(provider);
+            return;
+        }
+
+        ProviderLoading loading = new ProviderLoading(provider);
+        loading.data = data;
+        loading.dataSize = data.getDataSize();
+        providers.set(frozenSnapshotProvider, loading);
+        if (selectedProvider == frozenSnapshotProvider) {
+            setContentData(data);
+        }
+    }
+
+    private void freezeSnapshot() {
+        BinaryData contentData = dataComponent.getCodeArea().getContentData();
+        DebugSnapshotCache snapshotCache = DebugSnapshotCache.getCurrent();
+        if (!(contentData instanceof DebugViewData) || snapshotCache == null) {
+            return;
+        }
+
+        DebugViewData debugViewData = (DebugViewData) contentData;
+        ArraySnapshot snapshot = debugViewData.getSnapshot();
+        if (snapshot == null) {
+            return;
+        }
+
+        freezeButton.setEnabled(false);
+        SNAPSHOT_RP.post(() -> {
+            BinaryData frozenData = null;
+            try {
+                frozenData = debugViewData.createFrozenCopy();
+            } catch (RuntimeException ex) {
+                Logger.getLogger(DebugViewPanel.class.getName()).log(Level.SEVERE, null, ex);
+            }
+
+            BinaryData finalFrozenData = frozenData;
+            SwingUtilities.invokeLater(() -> {
+                if (finalFrozenData != null) {
+                    // Replace shown data first as previous frozen snapshot gets disposed
+                    setFrozenSnapshot(finalFrozenData);
+                    snapshotCache.putFrozenSnapshot(snapshot.getObjectId(), finalFrozenData);
+                }
+                updateFreezeButton();
+            });
+        });
+    }
+
+    private void updateFreezeButton() {
+        BinaryData contentData = dataComponent.getCodeArea().getContentData();
+        freezeButton.setEnabled(contentData instanceof DebugViewData && ((DebugViewData) contentData).getSnapshot() != null);
     }
 
     public void setContentData(@Nullable BinaryData data) {
+        BinaryData previousData = dataComponent.getCodeArea().getContentData();
+        if (previousData instanceof DebugViewData) {
+            ((DebugViewData) previousData).removePageLoadedListener(pageLoadedListener);
+        }
+        if (data instanceof DebugViewData) {
+            ((DebugViewData) data).addPageLoadedListener(pageLoadedListener);
+        }
         dataComponent.setContentData(data);
+        updateFreezeButton();
         long dataSize = data == null ? 0 : data.getDataSize();
         documentOriginalSize = dataSize;
         statusBar.setCurrentDocumentSize(dataSize, documentOriginalSize);
@@ -356,6 +542,38 @@ public class DebugViewPanel extends javax.swing.JPanel {
         binaryStatus.setEditMode(codeArea.getEditMode(), codeArea.getActiveOperation());
     }
 
+    /**
+     * Fetching of data of the provider.
+     */
+    @NullMarked
+    public static final class ProviderLoading {
+
+        private final DebugViewDataProvider provider;
+        // Accessed from event dispatch thread only
+        @Nullable
+        private BinaryData data;
+        @Nullable
+        private Runnable loadedListener;
+        @Nullable
+        private Task task;
+        // Size resolved in background or -1 if not known yet
+        private volatile long dataSize = -1;
+
+        private ProviderLoading(DebugViewDataProvider provider) {
+            this.provider = provider;
+        }
+
+        /**
+         * Cancels fetching of data if not started yet.
+         */
+        public void cancel() {
+            Task loadingTask = task;
+            if (loadingTask != null) {
+                loadingTask.cancel();
+            }
+        }
+    }
+
     private class BinaryStatusController implements BinaryStatusPanel.Controller, BinaryStatusPanel.EncodingsController {
 
         @Override
@@ -24,6 +24,7 @@ import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeEvent;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.prefs.PreferenceChangeListener;
 import java.util.prefs.PreferenceChangeEvent;
 import java.util.logging.Logger;
@@ -53,10 +54,16 @@ import org.exbin.bined.netbeans.diff.errorstripe.privatespi.Mark;
 import org.exbin.bined.netbeans.diff.errorstripe.privatespi.MarkProvider;
 import org.exbin.bined.netbeans.diff.gui.BinEdDiffPanel;
 import org.exbin.bined.netbeans.main.BinEdFileDataWrapper;
+import org.exbin.bined.netbeans.main.DeltaOverlayData;
+import org.exbin.bined.netbeans.options.IntegrationOptions;
+import org.exbin.bined.netbeans.utils.StreamUtils;
+import org.exbin.jaguif.App;
+import org.exbin.jaguif.options.api.OptionsModuleApi;
 import org.netbeans.api.editor.fold.FoldHierarchy;
 import org.netbeans.api.editor.fold.FoldUtilities;
 import org.netbeans.api.editor.fold.FoldHierarchyListener;
 import org.netbeans.api.editor.fold.FoldHierarchyEvent;
+import org.netbeans.api.progress.ProgressHandle;
 import org.openide.util.RequestProcessor;
 import org.openide.util.NbBundle;
 import org.openide.ErrorManager;
@@ -169,6 +176,7 @@ public class EditableDiffView extends DiffControllerImpl implements DiffView, Do
     private Integer askedLineLocation;
     private static final String PROP_SMART_SCROLLING_DISABLED = "diff.smartScrollDisabled"; //NOI18N
     static final RequestProcessor rp = new RequestProcessor("EditableDiffViewRP", 10);
+    private static final int SAVE_PROGRESS_UNITS = 100;
     private static final Logger LOG = Logger.getLogger(EditableDiffView.class.getName());
 
     private static final String CONTENT_TYPE_DIFF = "text/x-diff"; //NOI18N
@@ -182,6 +190,9 @@ public class EditableDiffView extends DiffControllerImpl implements DiffView, Do
     private boolean addedToHierarchy;
     
     private BinEdDiffPanel binaryDiffPanel;
+    private final Map<FileObject, DeltaOverlayData> binaryEditSessions = new LinkedHashMap<>();
+    private RequestProcessor.Task revealDifferenceTask;
+    private final AtomicBoolean revealDifferenceCancelled = new AtomicBoolean();
     private StreamSource sourceStream1;
     private StreamSource sourceStream2;
 
@@ -638,6 +649,16 @@ public class EditableDiffView extends DiffControllerImpl implements DiffView, Do
 
     private void viewRemoved () {
         viewAdded = false;
+        cancelRevealFirstDifference();
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                // View might be only moved to another place
+                if (!view.isDisplayable()) {
+                    finishBinaryEditSessions();
+                }
+            }
+        });
         if (addedToHierarchy) {
             addedToHierarchy = false;
             DiffModuleConfig.getDefault().getPreferences().removePreferenceChangeListener(this);
@@ -676,8 +697,10 @@ public class EditableDiffView extends DiffControllerImpl implements DiffView, Do
     public void stateChanged(ChangeEvent e) {
         if (jTabbedPane == e.getSource()) {
             if (jTabbedPane.getSelectedComponent() == binaryDiffPanel) {
+                OptionsModuleApi optionsModule = App.getModule(OptionsModuleApi.class);
+                int pageCacheCapacity = new IntegrationOptions(optionsModule.getAppOptions()).getPageCacheCapacity();
                 if (sourceStream1 instanceof SingleDiffPanel.DiffStreamSource) {
-                    EditableBinaryData data = new BinEdFileDataWrapper(((SingleDiffPanel.DiffStreamSource) sourceStream1).getFileObject());
+                    EditableBinaryData data = openBinaryEditSession(((SingleDiffPanel.DiffStreamSource) sourceStream1).getFileObject(), pageCacheCapacity);
                     binaryDiffPanel.setLeftContentData(data);
                 } else {
                     try {
@@ -687,7 +710,7 @@ public class EditableDiffView extends DiffControllerImpl implements DiffView, Do
                     }
                 }
                 if (sourceStream2 instanceof SingleDiffPanel.DiffStreamSource) {
-                    EditableBinaryData data = new BinEdFileDataWrapper(((SingleDiffPanel.DiffStreamSource) sourceStream2).getFileObject());
+                    EditableBinaryData data = openBinaryEditSession(((SingleDiffPanel.DiffStreamSource) sourceStream2).getFileObject(), pageCacheCapacity);
                     binaryDiffPanel.setRightContentData(data);
                 } else {
                     try {
@@ -696,14 +719,186 @@ public class EditableDiffView extends DiffControllerImpl implements DiffView, Do
                         Logger.getLogger(this.getClass().getName()).log(Level.SEVERE, ex.getMessage(), ex);
                     }
                 }
+                revealFirstDifference();
             } else if (jTabbedPane.getSelectedComponent() == jSplitPane1) {
+                releaseBinaryEditSessions();
                 updateCurrentDifference(null);
             } else {
+                releaseBinaryEditSessions();
                 setDifferenceIndex(-1);
             }
         }
     }
-    
+
+    /**
+     * Opens file data for binary panel, modifications are kept in memory
+     * until diff view is closed.
+     * <p>
+     * Session opened before is reused, unmodified session is updated to the
+     * current content of the file.
+     */
+    private EditableBinaryData openBinaryEditSession(FileObject fileObject, int pageCacheCapacity) {
+        DeltaOverlayData session = binaryEditSessions.get(fileObject);
+        if (session == null) {
+            session = new BinEdFileDataWrapper(fileObject, pageCacheCapacity).createEditSession();
+            binaryEditSessions.put(fileObject, session);
+        } else if (!session.isModified()) {
+            fileObject.refresh();
+            session.resetToSource();
+        }
+        return session;
+    }
+
+    /**
+     * Searches for first difference of binary data in background and moves
+     * cursor of binary panel to it.
+     */
+    private void revealFirstDifference() {
+        cancelRevealFirstDifference();
+        final BinaryData leftData = binaryDiffPanel.getLeftContentData();
+        final BinaryData rightData = binaryDiffPanel.getRightContentData();
+        if (leftData == null || rightData == null) {
+            return;
+        }
+
+        revealDifferenceCancelled.set(false);
+        revealDifferenceTask = rp.post(new Runnable() {
+            @Override
+            public void run() {
+                long position;
+                try (InputStream leftStream = leftData.getDataInputStream(); InputStream rightStream = rightData.getDataInputStream()) {
+                    position = StreamUtils.compareStreams(leftStream, rightStream, revealDifferenceCancelled::get);
+                } catch (InterruptedIOException ex) {
+                    return;
+                } catch (IOException ex) {
+                    Logger.getLogger(EditableDiffView.class.getName()).log(Level.SEVERE, null, ex);
+                    return;
+                }
+
+                if (position < 0) {
+                    return;
+                }
+
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        // Skip if binary panel was left or its data replaced meanwhile
+                        if (jTabbedPane.getSelectedComponent() == binaryDiffPanel
+                                && binaryDiffPanel.getLeftContentData() == leftData
+                                && binaryDiffPanel.getRightContentData() == rightData) {
+                            binaryDiffPanel.goToPosition(position);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Cancels search for first difference and waits until data are no longer
+     * read, so that data can be closed.
+     */
+    private void cancelRevealFirstDifference() {
+        if (revealDifferenceTask == null) {
+            return;
+        }
+
+        revealDifferenceCancelled.set(true);
+        if (!revealDifferenceTask.cancel()) {
+            // Running comparison stops before reading next block
+            revealDifferenceTask.waitFinished();
+        }
+        revealDifferenceTask = null;
+    }
+
+    /**
+     * Releases files used by binary panel when it is left, modifications are
+     * kept and files are opened again when needed.
+     */
+    private void releaseBinaryEditSessions() {
+        cancelRevealFirstDifference();
+        for (DeltaOverlayData session : binaryEditSessions.values()) {
+            ((BinEdFileDataWrapper) session.getSource()).close();
+        }
+    }
+
+    /**
+     * Asks whether to save modifications done in binary panel when diff view
+     * is closed, then saves them in background and releases file data.
+     */
+    private void finishBinaryEditSessions() {
+        List<DeltaOverlayData> modifiedSessions = new ArrayList<>();
+        StringBuilder fileNames = new StringBuilder();
+        for (Map.Entry<FileObject, DeltaOverlayData> entry : binaryEditSessions.entrySet()) {
+            DeltaOverlayData session = entry.getValue();
+            if (session.isModified()) {
+                modifiedSessions.add(session);
+                fileNames.append(fileNames.length() == 0 ? "" : ", ").append(entry.getKey().getNameExt());
+            } else {
+                ((BinEdFileDataWrapper) session.getSource()).close();
+            }
+        }
+        binaryEditSessions.clear();
+        if (modifiedSessions.isEmpty()) {
+            return;
+        }
+
+        NotifyDescriptor.Confirmation descriptor = new NotifyDescriptor.Confirmation(
+                NbBundle.getMessage(EditableDiffView.class, "EditableDiffView.SaveBinaryChanges", fileNames.toString()), // NOI18N
+                NbBundle.getMessage(EditableDiffView.class, "EditableDiffView.SaveBinaryChangesTitle"), // NOI18N
+                NotifyDescriptor.YES_NO_OPTION);
+        if (DialogDisplayer.getDefault().notify(descriptor) == NotifyDescriptor.YES_OPTION) {
+            saveBinaryEditSessions(modifiedSessions);
+        } else {
+            for (DeltaOverlayData session : modifiedSessions) {
+                ((BinEdFileDataWrapper) session.getSource()).close();
+            }
+        }
+    }
+
+    /**
+     * Saves edit sessions in background, user is asked to retry saving of
+     * sessions which failed to save, so that modifications are not lost
+     * silently.
+     */
+    private static void saveBinaryEditSessions(final List<DeltaOverlayData> sessions) {
+        rp.post(new Runnable() {
+            @Override
+            public void run() {
+                for (final DeltaOverlayData session : sessions) {
+                    final BinEdFileDataWrapper fileData = (BinEdFileDataWrapper) session.getSource();
+                    final String fileName = fileData.getFileObject().getNameExt();
+                    ProgressHandle progressHandle = ProgressHandle.createHandle(NbBundle.getMessage(EditableDiffView.class, "EditableDiffView.SavingFile", fileName)); // NOI18N
+                    progressHandle.start(SAVE_PROGRESS_UNITS);
+                    try {
+                        fileData.saveEditSession(session, (long processed, long total) -> {
+                            progressHandle.progress(total == 0 ? SAVE_PROGRESS_UNITS : (int) (processed * SAVE_PROGRESS_UNITS / total));
+                        });
+                        fileData.close();
+                    } catch (final IOException ex) {
+                        Logger.getLogger(EditableDiffView.class.getName()).log(Level.INFO, null, ex);
+                        SwingUtilities.invokeLater(new Runnable() {
+                            @Override
+                            public void run() {
+                                NotifyDescriptor.Confirmation descriptor = new NotifyDescriptor.Confirmation(
+                                        NbBundle.getMessage(EditableDiffView.class, "EditableDiffView.SaveFailed", fileName, ex.getLocalizedMessage()), // NOI18N
+                                        NbBundle.getMessage(EditableDiffView.class, "EditableDiffView.SaveBinaryChangesTitle"), // NOI18N
+                                        NotifyDescriptor.YES_NO_OPTION, NotifyDescriptor.ERROR_MESSAGE);
+                                if (DialogDisplayer.getDefault().notify(descriptor) == NotifyDescriptor.YES_OPTION) {
+                                    saveBinaryEditSessions(Collections.singletonList(session));
+                                } else {
+                                    fileData.close();
+                                }
+                            }
+                        });
+                    } finally {
+                        progressHandle.finish();
+                    }
+                }
+            }
+        });
+    }
+
     // TODO: Convert directly via BinaryDataReaderWrapper or find a way to access data directly
     // Uses UTF-8, because encoding character set information is not available
     private BinaryData readerToBinaryData(Reader reader) {
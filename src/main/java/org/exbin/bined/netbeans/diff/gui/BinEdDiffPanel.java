@@ -25,6 +25,7 @@ import java.awt.event.FocusEvent;
 import java.awt.event.MouseEvent;
 import java.nio.charset.Charset;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import javax.swing.AbstractAction;
 import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
@@ -334,6 +335,31 @@ public class BinEdDiffPanel extends JPanel {
         updateBinaryStatus(rightStatusBar, diffPanel.getRightCodeArea());
     }
 
+    @Nullable
+    public BinaryData getLeftContentData() {
+        return diffPanel.getLeftCodeArea().getContentData();
+    }
+
+    @Nullable
+    public BinaryData getRightContentData() {
+        return diffPanel.getRightCodeArea().getContentData();
+    }
+
+    /**
+     * Moves cursor of both code areas to given position and scrolls to it.
+     *
+     * @param position data position
+     */
+    public void goToPosition(long position) {
+        goToPosition(diffPanel.getLeftCodeArea(), position);
+        goToPosition(diffPanel.getRightCodeArea(), position);
+    }
+
+    private static void goToPosition(SectCodeArea codeArea, long position) {
+        codeArea.setActiveCaretPosition(Math.min(position, codeArea.getDataSize()));
+        codeArea.revealCursor();
+    }
+
     private JPopupMenu createPopupMenu(final CodeAreaPopupMenuHandler codeAreaPopupMenuHandler, String popupMenuId) {
         return new JPopupMenu() {
             @Override
@@ -0,0 +1,364 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.main;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.FileOwnerAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.List;
+import java.util.Set;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Saving of binary data to local file using temporary file and atomic rename.
+ * <p>
+ * Data are written to temporary file in the same directory as target file,
+ * synchronized to the storage device and then moved over the target file, so
+ * that target file is never left partially written. Symbolic links are
+ * resolved and the real file is replaced.
+ * <p>
+ * Target file is overwritten in place instead if it cannot be replaced
+ * without loss: when directory is not writable, file has multiple hard links
+ * or its owner, access control list or extended attributes cannot be copied.
+ * <p>
+ * Local file data and unmodified ranges of edit session over local file are
+ * transferred directly between file channels.
+ */
+@NullMarked
+public class AtomicFileSaver {
+
+    public static final int BUFFER_SIZE = 1024 * 1024;
+    private static final String TEMP_FILE_PREFIX = ".bined";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    @Nullable
+    private final ProgressListener progressListener;
+    private long totalSize;
+    private long processedSize;
+
+    public AtomicFileSaver() {
+        this(null);
+    }
+
+    public AtomicFileSaver(@Nullable ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Saves data to target file.
+     *
+     * @param data source data
+     * @param target target file
+     * @throws IOException if saving fails, target file is unchanged in such
+     * case unless it was overwritten in place
+     */
+    public void save(BinaryData data, File target) throws IOException {
+        Path targetPath = target.toPath().toAbsolutePath();
+        if (Files.exists(targetPath)) {
+            targetPath = targetPath.toRealPath();
+        }
+        totalSize = data.getDataSize();
+        processedSize = 0;
+
+        Path tempPath = canReplace(targetPath) ? createTempFile(targetPath) : null;
+        if (tempPath == null) {
+            saveInPlace(data, targetPath);
+            return;
+        }
+
+        boolean finished = false;
+        try {
+            if (!copyAttributes(targetPath, tempPath)) {
+                Files.delete(tempPath);
+                finished = true;
+                saveInPlace(data, targetPath);
+                return;
+            }
+
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeData(data, channel);
+                channel.force(true);
+            }
+
+            copyPermissions(targetPath, tempPath);
+            try {
+                Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            finished = true;
+        } finally {
+            if (!finished && !tempPath.toFile().delete()) {
+                tempPath.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Overwrites target file keeping its identity and attributes.
+     */
+    private void saveInPlace(BinaryData data, Path targetPath) throws IOException {
+        if (!readsFrom(data, targetPath)) {
+            try (FileChannel channel = FileChannel.open(targetPath, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+                writeData(data, channel);
+                channel.truncate(totalSize);
+                channel.force(true);
+            }
+            return;
+        }
+
+        // Data refer to content of target file, so they are prepared separately first
+        Path stagedPath = Files.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(stagedPath, StandardOpenOption.WRITE)) {
+                writeData(data, channel);
+            }
+
+            try (FileChannel sourceChannel = FileChannel.open(stagedPath, StandardOpenOption.READ);
+                    FileChannel channel = FileChannel.open(targetPath, StandardOpenOption.WRITE)) {
+                long position = 0;
+                while (position < totalSize) {
+                    long transferred = channel.transferFrom(sourceChannel, position, Math.min(totalSize - position, BUFFER_SIZE));
+                    if (transferred <= 0) {
+                        throw new IOException("Unexpected end of staged file");
+                    }
+                    position += transferred;
+                }
+                channel.truncate(totalSize);
+                channel.force(true);
+            }
+        } finally {
+            Files.deleteIfExists(stagedPath);
+        }
+    }
+
+    private void writeData(BinaryData data, FileChannel channel) throws IOException {
+        if (data instanceof BinEdFileDataWrapper) {
+            File sourceFile = ((BinEdFileDataWrapper) data).getLocalFile();
+            if (sourceFile != null) {
+                try (FileChannel sourceChannel = FileChannel.open(sourceFile.toPath(), StandardOpenOption.READ)) {
+                    transferData(sourceChannel, 0, totalSize, channel);
+                }
+                return;
+            }
+        }
+
+        byte[] chunk = new byte[totalSize < BUFFER_SIZE ? (int) totalSize : BUFFER_SIZE];
+        if (data instanceof DeltaOverlayData) {
+            DeltaOverlayData overlayData = (DeltaOverlayData) data;
+            BinaryData source = overlayData.getSource();
+            File sourceFile = source instanceof BinEdFileDataWrapper ? ((BinEdFileDataWrapper) source).getLocalFile() : null;
+            if (sourceFile != null) {
+                try (FileChannel sourceChannel = FileChannel.open(sourceFile.toPath(), StandardOpenOption.READ)) {
+                    overlayData.visitPieces((pieceData, fromSource, offset, length) -> {
+                        if (fromSource) {
+                            transferData(sourceChannel, offset, length, channel);
+                        } else {
+                            writeData(pieceData, offset, length, channel, chunk);
+                        }
+                    });
+                }
+                return;
+            }
+        }
+
+        writeData(data, 0, totalSize, channel, chunk);
+    }
+
+    private void writeData(BinaryData data, long offset, long length, FileChannel channel, byte[] chunk) throws IOException {
+        while (length > 0) {
+            int toWrite = length < chunk.length ? (int) length : chunk.length;
+            data.copyToArray(offset, chunk, 0, toWrite);
+            ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, toWrite);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            offset += toWrite;
+            length -= toWrite;
+            notifyProgress(toWrite);
+        }
+    }
+
+    private void transferData(FileChannel sourceChannel, long offset, long length, FileChannel channel) throws IOException {
+        while (length > 0) {
+            long transferred = sourceChannel.transferTo(offset, Math.min(length, BUFFER_SIZE), channel);
+            if (transferred <= 0) {
+                throw new IOException("Unexpected end of source file");
+            }
+            offset += transferred;
+            length -= transferred;
+            notifyProgress(transferred);
+        }
+    }
+
+    private void notifyProgress(long processed) throws IOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Saving was interrupted");
+        }
+
+        processedSize += processed;
+        if (progressListener != null) {
+            progressListener.progress(processedSize, totalSize);
+        }
+    }
+
+    /**
+     * Returns true if target file can be replaced by another file without
+     * loss of its hard links.
+     */
+    private static boolean canReplace(Path targetPath) {
+        Path directory = targetPath.getParent();
+        if (directory == null || !Files.isWritable(directory)) {
+            return false;
+        }
+
+        if (Files.exists(targetPath)) {
+            try {
+                Object linksCount = Files.getAttribute(targetPath, "unix:nlink");
+                if (linksCount instanceof Integer && (Integer) linksCount > 1) {
+                    return false;
+                }
+            } catch (IOException | UnsupportedOperationException | IllegalArgumentException | SecurityException ex) {
+                // Hard links are not reported
+            }
+        }
+
+        return true;
+    }
+
+    @Nullable
+    private static Path createTempFile(Path targetPath) {
+        try {
+            return File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX, targetPath.getParent().toFile()).toPath();
+        } catch (IOException | SecurityException ex) {
+            // Directory is not writable
+            return null;
+        }
+    }
+
+    /**
+     * Returns true if data read unmodified ranges directly from target file.
+     */
+    private static boolean readsFrom(BinaryData data, Path targetPath) {
+        BinaryData source = data instanceof DeltaOverlayData ? ((DeltaOverlayData) data).getSource() : data;
+        if (!(source instanceof BinEdFileDataWrapper)) {
+            return false;
+        }
+
+        File sourceFile = ((BinEdFileDataWrapper) source).getLocalFile();
+        try {
+            return sourceFile == null || Files.isSameFile(sourceFile.toPath(), targetPath);
+        } catch (IOException ex) {
+            return true;
+        }
+    }
+
+    /**
+     * Copies owner, access control list and user defined attributes.
+     *
+     * @return false if some of the attributes cannot be copied
+     */
+    private static boolean copyAttributes(Path source, Path target) {
+        if (!Files.exists(source)) {
+            return true;
+        }
+
+        try {
+            FileOwnerAttributeView sourceOwnerView = Files.getFileAttributeView(source, FileOwnerAttributeView.class);
+            FileOwnerAttributeView targetOwnerView = Files.getFileAttributeView(target, FileOwnerAttributeView.class);
+            if (sourceOwnerView != null && targetOwnerView != null) {
+                UserPrincipal owner = sourceOwnerView.getOwner();
+                if (!owner.equals(targetOwnerView.getOwner())) {
+                    targetOwnerView.setOwner(owner);
+                }
+            }
+
+            AclFileAttributeView sourceAclView = Files.getFileAttributeView(source, AclFileAttributeView.class);
+            AclFileAttributeView targetAclView = Files.getFileAttributeView(target, AclFileAttributeView.class);
+            if (sourceAclView != null && targetAclView != null) {
+                targetAclView.setAcl(sourceAclView.getAcl());
+            }
+
+            UserDefinedFileAttributeView sourceAttributesView = Files.getFileAttributeView(source, UserDefinedFileAttributeView.class);
+            if (sourceAttributesView != null) {
+                List<String> names;
+                try {
+                    names = sourceAttributesView.list();
+                } catch (IOException ex) {
+                    // Extended attributes are not supported
+                    return true;
+                }
+
+                if (!names.isEmpty()) {
+                    UserDefinedFileAttributeView targetAttributesView = Files.getFileAttributeView(target, UserDefinedFileAttributeView.class);
+                    if (targetAttributesView == null) {
+                        return false;
+                    }
+
+                    for (String name : names) {
+                        ByteBuffer value = ByteBuffer.allocate(sourceAttributesView.size(name));
+                        sourceAttributesView.read(name, value);
+                        value.flip();
+                        targetAttributesView.write(name, value);
+                    }
+                }
+            }
+        } catch (IOException | UnsupportedOperationException | SecurityException ex) {
+            return false;
+        }
+
+        return true;
+    }
+
+    private static void copyPermissions(Path source, Path target) {
+        if (!Files.exists(source)) {
+            return;
+        }
+
+        try {
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(source);
+            Files.setPosixFilePermissions(target, permissions);
+        } catch (IOException | UnsupportedOperationException | SecurityException ex) {
+            // Permissions are kept only where supported
+        }
+    }
+
+    @NullMarked
+    public interface ProgressListener {
+
+        /**
+         * Reports progress of saving.
+         *
+         * @param processed count of already saved bytes
+         * @param total total count of bytes
+         */
+        void progress(long processed, long total);
+    }
+}
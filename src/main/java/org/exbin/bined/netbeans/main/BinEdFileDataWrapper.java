@@ -15,12 +15,17 @@
  */
 package org.exbin.bined.netbeans.main;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.auxiliary.binary_data.array.ByteArrayData;
 import org.exbin.auxiliary.binary_data.EditableBinaryData;
@@ -29,26 +34,65 @@ import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
 import org.exbin.auxiliary.binary_data.paged.PagedData;
 import org.exbin.bined.netbeans.utils.StreamUtils;
 import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
 
 /**
  * File data wrapper for netbeans with caching.
+ * <p>
+ * Local files are read using mapped file channel and modified using
+ * positional writes, other file objects are read using input stream with page
+ * cache and rewritten on each modification. Mapping is released before any
+ * change of file size and is not used for followed files.
+ * <p>
+ * For editing without modifying the file on each change, edit session can be
+ * created, which records changes in memory and rewrites the file once on save.
+ * <p>
+ * Readers access data concurrently, pages are immutable once loaded and
+ * modifications are performed exclusively under write lock together with
+ * invalidation of cached data. Failed modification is reported by
+ * {@link IllegalStateException} with cause of the failure.
  */
 @NullMarked
 public class BinEdFileDataWrapper implements EditableBinaryData {
 
 	public static final String BROKEN_VIRTUAL_FILE = "Broken virtual file";
+    public static final String MODIFICATION_FAILED = "File modification failed";
     private static final int BUFFER_SIZE = 4096;
+    private static final int INSERT_BUFFER_LIMIT = 1024 * 1024;
     public static final int PAGE_SIZE = 4096;
 
     private final FileObject file;
 
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object streamLock = new Object();
     private InputStream cacheInputStream = null;
     private long cachePosition = 0;
-    private final DataPage[] cachePages = new DataPage[]{new DataPage(), new DataPage()};
-    private int nextCachePage = 0;
+    private final PageCache pageCache;
+    private final PagePrefetcher prefetcher;
+    @Nullable
+    private volatile MappedFileAccess mappedAccess = null;
+    private volatile boolean mappedAccessResolved = false;
+    private volatile boolean localAccessEnabled = true;
+    private volatile long followedSize = -1;
 
     public BinEdFileDataWrapper(FileObject fileObject) {
+        this(fileObject, PageCache.DEFAULT_CAPACITY);
+    }
+
+    public BinEdFileDataWrapper(FileObject fileObject, int pageCacheCapacity) {
         this.file = fileObject;
+        pageCache = new PageCache(pageCacheCapacity, PAGE_SIZE);
+        prefetcher = new PagePrefetcher(new PagePrefetcher.PageLoader() {
+            @Override
+            public long getPagesCount() {
+                return (getSourceSize() + PAGE_SIZE - 1) / PAGE_SIZE;
+            }
+
+            @Override
+            public void loadPages(long firstPage, int count, PagePrefetcher.CancelCheck cancelled) {
+                prefetchPages(firstPage, count, cancelled);
+            }
+        }, Math.min(PagePrefetcher.DEFAULT_PREFETCH_PAGES, pageCache.getCapacity() / 2));
     }
 
     @Override
@@ -58,22 +102,44 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
 
     @Override
     public long getDataSize() {
-        return file.getSize();
+        long size = followedSize;
+        if (size >= 0) {
+            return size;
+        }
+
+        lock.readLock().lock();
+        try {
+            MappedFileAccess access = getMappedAccess();
+            if (access != null) {
+                return access.getSize();
+            }
+
+            return file.getSize();
+        } catch (IOException e) {
+            throw new IllegalStateException(BROKEN_VIRTUAL_FILE, e);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
-    public synchronized byte getByte(long position) {
-        long pageIndex = position / PAGE_SIZE;
-        int pageOffset = (int) (position % PAGE_SIZE);
+    public byte getByte(long position) {
+        lock.readLock().lock();
+        try {
+            MappedFileAccess access = getMappedReadAccess();
+            if (access != null) {
+                return access.getByte(position);
+            }
 
-        if (cachePages[0].pageIndex == pageIndex) {
-            return cachePages[0].page[pageOffset];
-        }
-        if (cachePages[1].pageIndex == pageIndex) {
-            return cachePages[1].page[pageOffset];
+            long pageIndex = position / PAGE_SIZE;
+            int pageOffset = (int) (position % PAGE_SIZE);
+
+            return getPage(pageIndex)[pageOffset];
+        } catch (IOException e) {
+            throw new IllegalStateException(BROKEN_VIRTUAL_FILE, e);
+        } finally {
+            lock.readLock().unlock();
         }
-        int usedPage = loadPage(pageIndex);
-        return cachePages[usedPage].page[pageOffset];
     }
 
     @Override
@@ -86,60 +152,82 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
     }
 
     @Override
-    public synchronized BinaryData copy(long startFrom, long length) {
-        long pageIndex = startFrom / PAGE_SIZE;
-        int pageOffset = (int) (startFrom % PAGE_SIZE);
+    public BinaryData copy(long startFrom, long length) {
+        lock.readLock().lock();
+        try {
+            MappedFileAccess access = getMappedReadAccess();
+            if (access != null) {
+                ByteArrayPagedData data = new ByteArrayPagedData();
+                byte[] buffer = new byte[length < PAGE_SIZE ? (int) length : PAGE_SIZE];
+                long dataPosition = 0;
+                while (length > 0) {
+                    int copyLength = length < PAGE_SIZE ? (int) length : PAGE_SIZE;
+                    access.copyToArray(startFrom + dataPosition, buffer, 0, copyLength);
+                    data.insert(dataPosition, buffer, 0, copyLength);
+                    dataPosition += copyLength;
+                    length -= copyLength;
+                }
 
-        ByteArrayPagedData data = new ByteArrayPagedData();
-        long dataPosition = 0;
-        while (length > 0) {
-            int pageLength = length > PAGE_SIZE - pageOffset ? PAGE_SIZE - pageOffset : (int) length;
-            copyTo(data, dataPosition, pageIndex, pageOffset, pageLength);
-            pageIndex++;
-            pageOffset = 0;
-            dataPosition += pageLength;
-            length -= pageLength;
-        }
+                return data;
+            }
+
+            long pageIndex = startFrom / PAGE_SIZE;
+            int pageOffset = (int) (startFrom % PAGE_SIZE);
 
-        return data;
+            ByteArrayPagedData data = new ByteArrayPagedData();
+            long dataPosition = 0;
+            while (length > 0) {
+                int pageLength = length > PAGE_SIZE - pageOffset ? PAGE_SIZE - pageOffset : (int) length;
+                copyTo(data, dataPosition, pageIndex, pageOffset, pageLength);
+                pageIndex++;
+                pageOffset = 0;
+                dataPosition += pageLength;
+                length -= pageLength;
+            }
+
+            return data;
+        } catch (IOException e) {
+            throw new IllegalStateException(BROKEN_VIRTUAL_FILE, e);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     private void copyTo(PagedData data, long dataPosition, long pageIndex, int pageOffset, int pageLength) {
-        if (cachePages[0].pageIndex == pageIndex) {
-            data.insert(dataPosition, cachePages[0].page, pageOffset, pageLength);
-        } else if (cachePages[1].pageIndex == pageIndex) {
-            data.insert(dataPosition, cachePages[1].page, pageOffset, pageLength);
-        } else {
-            int usedPage = loadPage(pageIndex);
-            data.insert(dataPosition, cachePages[usedPage].page, pageOffset, pageLength);
-        }
+        data.insert(dataPosition, getPage(pageIndex), pageOffset, pageLength);
     }
 
     @Override
-    public synchronized void copyToArray(long startFrom, byte[] target, int offset, int length) {
-        long pageIndex = startFrom / PAGE_SIZE;
-        int pageOffset = (int) (startFrom % PAGE_SIZE);
+    public void copyToArray(long startFrom, byte[] target, int offset, int length) {
+        lock.readLock().lock();
+        try {
+            MappedFileAccess access = getMappedReadAccess();
+            if (access != null) {
+                access.copyToArray(startFrom, target, offset, length);
+                return;
+            }
 
-        int dataPosition = offset;
-        while (length > 0) {
-            int pageLength = Math.min(length, PAGE_SIZE - pageOffset);
-            copyTo(target, dataPosition, pageIndex, pageOffset, pageLength);
-            pageIndex++;
-            pageOffset = 0;
-            dataPosition += pageLength;
-            length -= pageLength;
+            long pageIndex = startFrom / PAGE_SIZE;
+            int pageOffset = (int) (startFrom % PAGE_SIZE);
+
+            int dataPosition = offset;
+            while (length > 0) {
+                int pageLength = Math.min(length, PAGE_SIZE - pageOffset);
+                copyTo(target, dataPosition, pageIndex, pageOffset, pageLength);
+                pageIndex++;
+                pageOffset = 0;
+                dataPosition += pageLength;
+                length -= pageLength;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(BROKEN_VIRTUAL_FILE, e);
+        } finally {
+            lock.readLock().unlock();
         }
     }
 
     private void copyTo(byte[] data, int dataPosition, long pageIndex, int pageOffset, int pageLength) {
-        if (cachePages[0].pageIndex == pageIndex) {
-            System.arraycopy(cachePages[0].page, pageOffset, data, dataPosition, pageLength);
-        } else if (cachePages[1].pageIndex == pageIndex) {
-            System.arraycopy(cachePages[1].page, pageOffset, data, dataPosition, pageLength);
-        } else {
-            int usedPage = loadPage(pageIndex);
-            System.arraycopy(cachePages[usedPage].page, pageOffset, data, dataPosition, pageLength);
-        }
+        System.arraycopy(getPage(pageIndex), pageOffset, data, dataPosition, pageLength);
     }
 
     @Override
@@ -165,7 +253,7 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
 
     @Override
     public void dispose() {
-        resetCache();
+        close();
     }
 
     @Override
@@ -174,12 +262,16 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
         if (size > fileLength) {
             insert(fileLength, size - fileLength);
         } else {
-            remove(fileLength, fileLength - size);
+            remove(size, fileLength - size);
         }
     }
 
     @Override
-    public synchronized void setByte(long position, byte value) {
+    public void setByte(long position, byte value) {
+        if (channelWriteAction(access -> access.write(position, new byte[]{value}, 0, 1))) {
+            return;
+        }
+
         writeAction(() -> {
             long fileLength = file.getSize();
             InputStream inputStream = file.getInputStream();
@@ -202,7 +294,14 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
     }
 
     @Override
-    public synchronized void insert(long startFrom, long length) {
+    public void insert(long startFrom, long length) {
+        if (channelWriteAction(access -> {
+            access.insertSpace(startFrom, length);
+            access.fill(startFrom, length, (byte) 0);
+        })) {
+            return;
+        }
+
         writeAction(() -> {
             long fileLength = file.getSize();
             InputStream inputStream = file.getInputStream();
@@ -228,7 +327,14 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
     }
 
     @Override
-    public synchronized void insert(long startFrom, byte[] insertedData, int insertedDataOffset, int insertedDataLength) {
+    public void insert(long startFrom, byte[] insertedData, int insertedDataOffset, int insertedDataLength) {
+        if (channelWriteAction(access -> {
+            access.insertSpace(startFrom, insertedDataLength);
+            access.write(startFrom, insertedData, insertedDataOffset, insertedDataLength);
+        })) {
+            return;
+        }
+
         writeAction(() -> {
             long fileLength = file.getSize();
             InputStream inputStream = file.getInputStream();
@@ -245,7 +351,15 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
     }
 
     @Override
-    public synchronized void insert(long startFrom, BinaryData insertedData) {
+    public void insert(long startFrom, BinaryData insertedData) {
+        if (channelWriteAction(access -> {
+            long insertedDataLength = insertedData.getDataSize();
+            access.insertSpace(startFrom, insertedDataLength);
+            writeData(access, startFrom, insertedData, 0, insertedDataLength);
+        })) {
+            return;
+        }
+
         writeAction(() -> {
             long fileLength = file.getSize();
             InputStream inputStream = file.getInputStream();
@@ -262,7 +376,14 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
     }
 
     @Override
-    public synchronized void insert(long startFrom, BinaryData insertedData, final long insertedDataOffset, final long insertedDataLength) {
+    public void insert(long startFrom, BinaryData insertedData, final long insertedDataOffset, final long insertedDataLength) {
+        if (channelWriteAction(access -> {
+            access.insertSpace(startFrom, insertedDataLength);
+            writeData(access, startFrom, insertedData, insertedDataOffset, insertedDataLength);
+        })) {
+            return;
+        }
+
         writeAction(() -> {
             long fileLength = file.getSize();
             InputStream inputStream = file.getInputStream();
@@ -288,13 +409,86 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
     }
 
     @Override
-    public synchronized long insert(long startFrom, InputStream insertStream, long maximumDataSize) throws IOException {
-        writeAction(() -> {
+    public long insert(long startFrom, InputStream insertStream, long maximumDataSize) throws IOException {
+        // Stream is read before file is modified, so that exactly read length is inserted
+        byte[] buffer = new byte[(int) Math.min(maximumDataSize, INSERT_BUFFER_LIMIT)];
+        int bufferedLength = StreamUtils.readBlock(insertStream, buffer, 0, buffer.length);
+        File tempFile = null;
+        try {
+            long length = bufferedLength;
+            if (bufferedLength == buffer.length && maximumDataSize > bufferedLength) {
+                // Longer data are stored in temporary file instead of memory
+                tempFile = File.createTempFile("bined", ".tmp");
+                try (OutputStream tempStream = new FileOutputStream(tempFile)) {
+                    tempStream.write(buffer, 0, bufferedLength);
+                    long remains = maximumDataSize - bufferedLength;
+                    while (remains > 0) {
+                        int read = StreamUtils.readBlock(insertStream, buffer, 0, (int) Math.min(remains, buffer.length));
+                        if (read == 0) {
+                            break;
+                        }
+                        tempStream.write(buffer, 0, read);
+                        remains -= read;
+                        length += read;
+                    }
+                }
+            }
+
+            insertStaged(startFrom, buffer, tempFile, length);
+            return length;
+        } finally {
+            if (tempFile != null && !tempFile.delete()) {
+                tempFile.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Inserts data read from stream, which are either in buffer or in
+     * temporary file if longer than buffer.
+     */
+    private void insertStaged(long startFrom, byte[] buffer, @Nullable File tempFile, long length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+
+        if (performChannelWrite(access -> {
+            access.insertSpace(startFrom, length);
+            try {
+                if (tempFile == null) {
+                    access.write(startFrom, buffer, 0, (int) length);
+                    return;
+                }
+
+                try (InputStream tempStream = new FileInputStream(tempFile)) {
+                    long position = startFrom;
+                    int read;
+                    while ((read = StreamUtils.readBlock(tempStream, buffer, 0, buffer.length)) > 0) {
+                        access.write(position, buffer, 0, read);
+                        position += read;
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                // Roll back inserted space
+                access.removeSpace(startFrom, length);
+                throw ex;
+            }
+        })) {
+            return;
+        }
+
+        performWrite(() -> {
             long fileLength = file.getSize();
             InputStream inputStream = file.getInputStream();
             OutputStream outputStream = file.getOutputStream(null);
             StreamUtils.copyFixedSizeInputStreamToOutputStream(inputStream, outputStream, startFrom);
-            StreamUtils.copyFixedSizeInputStreamToOutputStream(insertStream, outputStream, maximumDataSize);
+            if (tempFile == null) {
+                outputStream.write(buffer, 0, (int) length);
+            } else {
+                try (InputStream tempStream = new FileInputStream(tempFile)) {
+                    StreamUtils.copyInputStreamToOutputStream(tempStream, outputStream);
+                }
+            }
             if (fileLength > startFrom) {
                 StreamUtils.copyFixedSizeInputStreamToOutputStream(inputStream, outputStream, fileLength - startFrom);
             }
@@ -302,8 +496,6 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
             inputStream.close();
             outputStream.close();
         });
-
-        return maximumDataSize;
     }
 
     @Override
@@ -312,11 +504,15 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
     }
 
     @Override
-    public synchronized void replace(long targetPosition, BinaryData replacingData, long startFrom, long replacingLength) {
+    public void replace(long targetPosition, BinaryData replacingData, long startFrom, long replacingLength) {
         if (targetPosition + replacingLength > getDataSize()) {
             throw new OutOfBoundsException("Data can be replaced only inside or at the end");
         }
 
+        if (channelWriteAction(access -> writeData(access, targetPosition, replacingData, startFrom, replacingLength))) {
+            return;
+        }
+
         writeAction(() -> {
             long fileLength = file.getSize();
             InputStream inputStream = file.getInputStream();
@@ -348,11 +544,15 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
     }
 
     @Override
-    public synchronized void replace(long targetPosition, byte[] replacingData, int replacingDataOffset, int length) {
+    public void replace(long targetPosition, byte[] replacingData, int replacingDataOffset, int length) {
         if (targetPosition + length > getDataSize()) {
             throw new OutOfBoundsException("Data can be replaced only inside or at the end");
         }
 
+        if (channelWriteAction(access -> access.write(targetPosition, replacingData, replacingDataOffset, length))) {
+            return;
+        }
+
         writeAction(() -> {
             long fileLength = file.getSize();
             InputStream inputStream = file.getInputStream();
@@ -375,7 +575,11 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
     }
 
     @Override
-    public synchronized void fillData(long startFrom, long length, byte fill) {
+    public void fillData(long startFrom, long length, byte fill) {
+        if (channelWriteAction(access -> access.fill(startFrom, length, fill))) {
+            return;
+        }
+
         writeAction(() -> {
             long fileLength = file.getSize();
             InputStream inputStream = file.getInputStream();
@@ -395,7 +599,11 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
     }
 
     @Override
-    public synchronized void remove(long startFrom, long length) {
+    public void remove(long startFrom, long length) {
+        if (channelWriteAction(access -> access.removeSpace(startFrom, length))) {
+            return;
+        }
+
         writeAction(() -> {
             long fileLength = file.getSize();
             InputStream inputStream = file.getInputStream();
@@ -412,7 +620,11 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
     }
 
     @Override
-    public synchronized void clear() {
+    public void clear() {
+        if (channelWriteAction(access -> access.truncate(0))) {
+            return;
+        }
+
         writeAction(() -> {
             OutputStream outputStream = file.getOutputStream(null);
             outputStream.close();
@@ -421,28 +633,150 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
 
     private void writeAction(WriteRunnable action) {
         try {
-            action.run();
+            performWrite(action);
         } catch (IOException ex) {
+            throw new IllegalStateException(MODIFICATION_FAILED, ex);
         }
-        resetCache();
     }
 
-    public void resetCache() {
-        if (cacheInputStream != null) {
+    private void performWrite(WriteRunnable action) throws IOException {
+        lock.writeLock().lock();
+        try {
+            // Release mapped window before file is rewritten
+            invalidateCache();
             try {
-                cacheInputStream.close();
-            } catch (IOException ex) {
-                Logger.getLogger(BinEdFileDataWrapper.class.getName()).log(Level.SEVERE, null, ex);
+                action.run();
+            } finally {
+                invalidateCache();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Performs modification directly on local file using positional writes.
+     *
+     * @param action write action
+     * @return true if action was performed, false if file doesn't support
+     * random access and has to be rewritten using streams
+     */
+    private boolean channelWriteAction(ChannelWriteRunnable action) {
+        try {
+            return performChannelWrite(action);
+        } catch (IOException ex) {
+            throw new IllegalStateException(MODIFICATION_FAILED, ex);
+        }
+    }
+
+    private boolean performChannelWrite(ChannelWriteRunnable action) throws IOException {
+        MappedFileAccess access = getMappedAccess();
+        if (access == null || !access.isWritable()) {
+            return false;
+        }
+
+        performWrite(() -> {
+            try {
+                action.run(access);
+            } finally {
+                file.refresh();
+            }
+        });
+        return true;
+    }
+
+    private static void writeData(MappedFileAccess access, long position, BinaryData data, long dataOffset, long length) throws IOException {
+        byte[] cache = new byte[length < BUFFER_SIZE ? (int) length : BUFFER_SIZE];
+        while (length > 0) {
+            int toCopy = length > BUFFER_SIZE ? BUFFER_SIZE : (int) length;
+            data.copyToArray(dataOffset, cache, 0, toCopy);
+            access.write(position, cache, 0, toCopy);
+            length -= toCopy;
+            dataOffset += toCopy;
+            position += toCopy;
+        }
+    }
+
+    public void resetCache() {
+        lock.writeLock().lock();
+        try {
+            invalidateCache();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops all cached data, must be called with write lock held.
+     */
+    private void invalidateCache() {
+        prefetcher.cancel();
+        synchronized (streamLock) {
+            if (cacheInputStream != null) {
+                try {
+                    cacheInputStream.close();
+                } catch (IOException ex) {
+                    Logger.getLogger(BinEdFileDataWrapper.class.getName()).log(Level.SEVERE, null, ex);
+                }
+                cacheInputStream = null;
+            }
+        }
+
+        pageCache.clear();
+        MappedFileAccess access = mappedAccess;
+        if (access != null) {
+            access.resetWindow();
+        }
+    }
+
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            invalidateCache();
+            if (mappedAccess != null) {
+                mappedAccess.close();
+                mappedAccess = null;
             }
-            cacheInputStream = null;
+            mappedAccessResolved = false;
+        } finally {
+            lock.writeLock().unlock();
         }
+    }
 
-        cachePages[0].pageIndex = -1;
-        cachePages[1].pageIndex = -1;
+    /**
+     * Returns random access to local file or null if only stream access is
+     * available, such as for jar or remote file systems.
+     *
+     * @return mapped file access or null
+     */
+    @Nullable
+    private MappedFileAccess getMappedAccess() {
+        if (!mappedAccessResolved) {
+            synchronized (streamLock) {
+                if (!mappedAccessResolved) {
+                    MappedFileAccess access = localAccessEnabled ? MappedFileAccess.open(file) : null;
+                    if (access != null && followedSize >= 0) {
+                        access.setMappingEnabled(false);
+                    }
+                    mappedAccess = access;
+                    mappedAccessResolved = true;
+                }
+            }
+        }
+
+        return mappedAccess;
     }
 
-    public synchronized void close() {
-        resetCache();
+    /**
+     * Returns random access to local file if reading using mapped windows is
+     * enabled, followed files are read using page cache instead.
+     *
+     * @return mapped file access or null
+     */
+    @Nullable
+    private MappedFileAccess getMappedReadAccess() {
+        MappedFileAccess access = getMappedAccess();
+        return access != null && access.isMappingEnabled() ? access : null;
     }
 
     private InputStream getInputStream(long position) throws IOException {
@@ -473,17 +807,290 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
         throw new UnsupportedOperationException("Not supported yet.");
     }
 
-    private int loadPage(long pageIndex) {
-        int usedPage = nextCachePage;
+    public boolean isLocalAccessEnabled() {
+        return localAccessEnabled;
+    }
+
+    /**
+     * Enables random access to local file.
+     * <p>
+     * When disabled, local file is read as stream using page cache same way
+     * as files of other file systems.
+     *
+     * @param enabled true to enable local file access
+     */
+    public void setLocalAccessEnabled(boolean enabled) {
+        lock.writeLock().lock();
+        try {
+            localAccessEnabled = enabled;
+            close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isFollowMode() {
+        return followedSize >= 0;
+    }
+
+    /**
+     * Sets follow mode for growing file.
+     * <p>
+     * In follow mode data size only changes when
+     * {@link #updateFollowedSize()} is called, so that it is stable between
+     * updates. Local file is read using page cache instead of mapped windows,
+     * so that pages loaded before are kept when file grows.
+     *
+     * @param followMode follow mode
+     */
+    public void setFollowMode(boolean followMode) {
+        lock.writeLock().lock();
+        try {
+            // Pages cached in previous follow mode might be outdated
+            invalidateCache();
+            followedSize = followMode ? readFileSize() : -1;
+            MappedFileAccess access = getMappedAccess();
+            if (access != null) {
+                // Followed file can be shrunk by another process
+                access.setMappingEnabled(!followMode);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Updates data size of followed file.
+     * <p>
+     * Cached pages are kept when file grows, only last incomplete page is
+     * dropped. All cached data are dropped when file shrinks.
+     *
+     * @return change of data size
+     */
+    public long updateFollowedSize() {
+        lock.writeLock().lock();
+        try {
+            long previousSize = followedSize;
+            if (previousSize < 0) {
+                throw new IllegalStateException("Follow mode is not enabled");
+            }
+
+            long size = readFileSize();
+            if (size < previousSize) {
+                invalidateCache();
+            } else if (size > previousSize && previousSize % PAGE_SIZE != 0) {
+                prefetcher.cancel();
+                pageCache.removePage(previousSize / PAGE_SIZE);
+            }
+            followedSize = size;
+            return size - previousSize;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns current size of the file bypassing cached file object size.
+     *
+     * @return file size
+     */
+    private long readFileSize() {
+        try {
+            MappedFileAccess access = getMappedAccess();
+            if (access != null) {
+                return access.getSize();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(BROKEN_VIRTUAL_FILE, e);
+        }
+
+        file.refresh();
+        return file.getSize();
+    }
+
+    private long getSourceSize() {
+        long size = followedSize;
+        return size >= 0 ? size : file.getSize();
+    }
+
+    public FileObject getFileObject() {
+        return file;
+    }
+
+    public PageCache getPageCache() {
+        return pageCache;
+    }
+
+    /**
+     * Returns local file backing this data.
+     *
+     * @return local file or null if file object is not local file
+     */
+    @Nullable
+    public File getLocalFile() {
+        return FileUtil.toFile(file);
+    }
+
+    /**
+     * Creates editing session which records modifications in memory as overlay
+     * over this file data instead of modifying the file directly.
+     *
+     * @return edit session data
+     */
+    public DeltaOverlayData createEditSession() {
+        return new DeltaOverlayData(this);
+    }
+
+    /**
+     * Rewrites file with content of given editing session and resets session
+     * to the new file content.
+     * <p>
+     * Local file is saved using {@link AtomicFileSaver}, which transfers
+     * unmodified ranges directly from the original file.
+     *
+     * @param session edit session created for this data
+     * @throws IOException if write fails
+     */
+    public void saveEditSession(DeltaOverlayData session) throws IOException {
+        saveEditSession(session, null);
+    }
+
+    /**
+     * Rewrites file with content of given editing session and resets session
+     * to the new file content.
+     * <p>
+     * Session is kept unchanged when saving fails.
+     *
+     * @param session edit session created for this data
+     * @param progressListener listener for saving progress of local file
+     * @throws IOException if write fails
+     */
+    public void saveEditSession(DeltaOverlayData session, @Nullable AtomicFileSaver.ProgressListener progressListener) throws IOException {
+        if (session.getSource() != this) {
+            throw new IllegalArgumentException("Edit session belongs to different data");
+        }
+
+        // Session is locked first as its readers lock this data afterwards
+        synchronized (session) {
+            File localFile = getLocalFile();
+            if (localFile != null) {
+                lock.writeLock().lock();
+                try {
+                    // Mapping and channel would prevent replacing of the file on some
+                    // platforms, saver reads unmodified ranges using its own channel
+                    close();
+                    new AtomicFileSaver(progressListener).save(session, localFile);
+                    file.refresh();
+                    session.resetToSource();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                return;
+            }
+
+            // Session reads from this file, so content is prepared separately first
+            File tempFile = File.createTempFile("bined", ".tmp");
+            try {
+                try (OutputStream tempStream = new FileOutputStream(tempFile)) {
+                    session.saveToStream(tempStream);
+                }
+
+                performWrite(() -> {
+                    try (InputStream inputStream = new FileInputStream(tempFile); OutputStream outputStream = file.getOutputStream(null)) {
+                        StreamUtils.copyInputStreamToOutputStream(inputStream, outputStream);
+                    }
+                });
+                session.resetToSource();
+            } finally {
+                if (!tempFile.delete()) {
+                    tempFile.deleteOnExit();
+                }
+            }
+        }
+    }
+
+    private byte[] getPage(long pageIndex) {
+        prefetcher.pageAccessed(pageIndex);
+        byte[] page = pageCache.getPage(pageIndex);
+        if (page == null) {
+            synchronized (streamLock) {
+                // Page might be loaded by other reader meanwhile
+                page = pageCache.peekPage(pageIndex);
+                if (page == null) {
+                    page = loadPage(pageIndex);
+                    pageCache.putPage(pageIndex, page);
+                }
+            }
+        }
+
+        return page;
+    }
+
+    /**
+     * Loads pages in background using separate input stream.
+     *
+     * @param firstPage first page index
+     * @param count count of pages
+     * @param cancelled cancellation check
+     */
+    private void prefetchPages(long firstPage, int count, PagePrefetcher.CancelCheck cancelled) {
+        long dataSize = getSourceSize();
+        try (InputStream inputStream = file.getInputStream()) {
+            StreamUtils.skipInputStreamData(inputStream, firstPage * PAGE_SIZE);
+            for (long pageIndex = firstPage; pageIndex < firstPage + count; pageIndex++) {
+                long position = pageIndex * PAGE_SIZE;
+                if (position >= dataSize || cancelled.isCancelled()) {
+                    break;
+                }
+
+                byte[] page = new byte[PAGE_SIZE];
+                int remains = position + PAGE_SIZE > dataSize ? (int) (dataSize - position) : PAGE_SIZE;
+                int done = 0;
+                while (remains > 0) {
+                    int copied = inputStream.read(page, done, remains);
+                    if (copied < 0) {
+                        return;
+                    }
+                    remains -= copied;
+                    done += copied;
+                }
+
+                // Read lock prevents storing page after cache was invalidated by writer
+                lock.readLock().lock();
+                try {
+                    if (cancelled.isCancelled() || dataSize != getSourceSize()) {
+                        break;
+                    }
+                    if (!pageCache.containsPage(pageIndex)) {
+                        pageCache.putPage(pageIndex, page);
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+        } catch (IOException ex) {
+            Logger.getLogger(BinEdFileDataWrapper.class.getName()).log(Level.FINE, "Page prefetch failed", ex);
+        }
+    }
+
+    private byte[] loadPage(long pageIndex) {
+        byte[] page = new byte[PAGE_SIZE];
         long position = pageIndex * PAGE_SIZE;
-        long dataSize = getDataSize();
+        long dataSize = getSourceSize();
         try {
+            int remains = position + PAGE_SIZE > dataSize ? (int) (dataSize - position) : PAGE_SIZE;
+            MappedFileAccess access = getMappedAccess();
+            if (access != null) {
+                // Local file is read using positional read
+                access.copyToArray(position, page, 0, remains);
+                return page;
+            }
+
             InputStream inputStream = getInputStream(position);
 
             int done = 0;
-            int remains = position + PAGE_SIZE > dataSize ? (int) (dataSize - position) : PAGE_SIZE;
             while (remains > 0) {
-                int copied = inputStream.read(cachePages[usedPage].page, done, remains);
+                int copied = inputStream.read(page, done, remains);
                 if (copied < 0) {
                     throw new IllegalStateException(BROKEN_VIRTUAL_FILE);
                 }
@@ -491,22 +1098,18 @@ public class BinEdFileDataWrapper implements EditableBinaryData {
                 remains -= copied;
                 done += copied;
             }
-
-            cachePages[usedPage].pageIndex = pageIndex;
-            nextCachePage = 1 - nextCachePage;
         } catch (IOException e) {
             throw new IllegalStateException(BROKEN_VIRTUAL_FILE, e);
         }
 
-        return usedPage;
-    }
-
-    private static class DataPage {
-        long pageIndex = -1;
-        byte[] page = new byte[PAGE_SIZE];
+        return page;
     }
 
     public interface WriteRunnable {
         void run() throws IOException;
     }
+
+    public interface ChannelWriteRunnable {
+        void run(MappedFileAccess access) throws IOException;
+    }
 }
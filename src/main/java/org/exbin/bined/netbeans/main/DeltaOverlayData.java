@@ -0,0 +1,493 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.main;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.jspecify.annotations.NullMarked;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.auxiliary.binary_data.OutOfBoundsException;
+import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
+
+/**
+ * Editable overlay over unmodified source data.
+ * <p>
+ * Modifications are recorded as piece table referencing either source data or
+ * appended data, so that memory usage is proportional to the size of the
+ * modifications and source data is only read when needed.
+ * <p>
+ * Access is synchronized, as position of last found piece is shared by all
+ * readers.
+ */
+@NullMarked
+public class DeltaOverlayData implements EditableBinaryData {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final BinaryData source;
+    private final ByteArrayPagedData addedData = new ByteArrayPagedData();
+    private final List<Piece> pieces = new ArrayList<>();
+    private long dataSize;
+
+    private int cursorIndex = 0;
+    private long cursorPosition = 0;
+
+    public DeltaOverlayData(BinaryData source) {
+        this.source = source;
+        resetToSource();
+    }
+
+    /**
+     * Drops all modifications and uses current content of the source data.
+     */
+    public final synchronized void resetToSource() {
+        pieces.clear();
+        addedData.clear();
+        dataSize = source.getDataSize();
+        if (dataSize > 0) {
+            pieces.add(new Piece(false, 0, dataSize));
+        }
+        resetCursor();
+    }
+
+    public BinaryData getSource() {
+        return source;
+    }
+
+    /**
+     * Returns true if any modification was recorded.
+     *
+     * @return true if modified
+     */
+    public synchronized boolean isModified() {
+        if (dataSize != source.getDataSize()) {
+            return true;
+        }
+
+        return !(pieces.isEmpty() || (pieces.size() == 1 && !pieces.get(0).added && pieces.get(0).offset == 0));
+    }
+
+    public synchronized int getPiecesCount() {
+        return pieces.size();
+    }
+
+    /**
+     * Passes all pieces of the data in order to given visitor.
+     *
+     * @param visitor pieces visitor
+     * @throws IOException if visitor fails
+     */
+    public synchronized void visitPieces(PieceVisitor visitor) throws IOException {
+        for (Piece piece : pieces) {
+            visitor.visitPiece(piece.added ? addedData : source, !piece.added, piece.offset, piece.length);
+        }
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return dataSize == 0;
+    }
+
+    @Override
+    public synchronized long getDataSize() {
+        return dataSize;
+    }
+
+    @Override
+    public synchronized byte getByte(long position) {
+        int pieceIndex = findPiece(position);
+        if (pieceIndex == pieces.size()) {
+            throw new OutOfBoundsException("Requested data out of bounds");
+        }
+
+        Piece piece = pieces.get(pieceIndex);
+        long pieceOffset = piece.offset + position - cursorPosition;
+        return piece.added ? addedData.getByte(pieceOffset) : source.getByte(pieceOffset);
+    }
+
+    @Override
+    public synchronized BinaryData copy() {
+        return copy(0, dataSize);
+    }
+
+    @Override
+    public synchronized BinaryData copy(long startFrom, long length) {
+        checkRange(startFrom, length);
+        ByteArrayPagedData result = new ByteArrayPagedData();
+        long targetPosition = 0;
+        while (length > 0) {
+            int pieceIndex = findPiece(startFrom);
+            Piece piece = pieces.get(pieceIndex);
+            long pieceOffset = startFrom - cursorPosition;
+            long copyLength = Math.min(length, piece.length - pieceOffset);
+            result.insert(targetPosition, piece.added ? addedData : source, piece.offset + pieceOffset, copyLength);
+            startFrom += copyLength;
+            targetPosition += copyLength;
+            length -= copyLength;
+        }
+
+        return result;
+    }
+
+    @Override
+    public synchronized void copyToArray(long startFrom, byte[] target, int offset, int length) {
+        checkRange(startFrom, length);
+        while (length > 0) {
+            int pieceIndex = findPiece(startFrom);
+            Piece piece = pieces.get(pieceIndex);
+            long pieceOffset = startFrom - cursorPosition;
+            int copyLength = (int) Math.min(length, piece.length - pieceOffset);
+            (piece.added ? addedData : source).copyToArray(piece.offset + pieceOffset, target, offset, copyLength);
+            startFrom += copyLength;
+            offset += copyLength;
+            length -= copyLength;
+        }
+    }
+
+    @Override
+    public synchronized void saveToStream(OutputStream outputStream) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (Piece piece : pieces) {
+            BinaryData data = piece.added ? addedData : source;
+            long position = piece.offset;
+            long remains = piece.length;
+            while (remains > 0) {
+                int toCopy = remains > BUFFER_SIZE ? BUFFER_SIZE : (int) remains;
+                data.copyToArray(position, buffer, 0, toCopy);
+                outputStream.write(buffer, 0, toCopy);
+                position += toCopy;
+                remains -= toCopy;
+            }
+        }
+    }
+
+    @Override
+    public InputStream getDataInputStream() {
+        return new InputStream() {
+            private long position = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (position >= dataSize) {
+                    return -1;
+                }
+
+                return getByte(position++) & 0xff;
+            }
+
+            @Override
+            public int read(byte[] target, int offset, int length) throws IOException {
+                if (length == 0) {
+                    return 0;
+                }
+                long dataSize = getDataSize();
+                if (position >= dataSize) {
+                    return -1;
+                }
+
+                int toRead = (int) Math.min(length, dataSize - position);
+                copyToArray(position, target, offset, toRead);
+                position += toRead;
+                return toRead;
+            }
+
+            @Override
+            public int available() throws IOException {
+                return (int) Math.min(Integer.MAX_VALUE, getDataSize() - position);
+            }
+        };
+    }
+
+    @Override
+    public synchronized void dispose() {
+        pieces.clear();
+        addedData.dispose();
+        dataSize = 0;
+        resetCursor();
+    }
+
+    @Override
+    public synchronized void setDataSize(long size) {
+        if (size > dataSize) {
+            insert(dataSize, size - dataSize);
+        } else if (size < dataSize) {
+            remove(size, dataSize - size);
+        }
+    }
+
+    @Override
+    public synchronized void setByte(long position, byte value) {
+        int pieceIndex = findPiece(position);
+        if (pieceIndex == pieces.size()) {
+            throw new OutOfBoundsException("Data can be replaced only inside or at the end");
+        }
+
+        Piece piece = pieces.get(pieceIndex);
+        if (piece.added) {
+            // Appended data are referenced only once, so they can be modified in place
+            addedData.setByte(piece.offset + position - cursorPosition, value);
+        } else {
+            replace(position, new byte[]{value});
+        }
+    }
+
+    @Override
+    public synchronized void insertUninitialized(long startFrom, long length) {
+        insert(startFrom, length);
+    }
+
+    @Override
+    public synchronized void insert(long startFrom, long length) {
+        long addedPosition = addedData.getDataSize();
+        addedData.insert(addedPosition, length);
+        insertPiece(startFrom, new Piece(true, addedPosition, length));
+    }
+
+    @Override
+    public synchronized void insert(long startFrom, byte[] insertedData) {
+        insert(startFrom, insertedData, 0, insertedData.length);
+    }
+
+    @Override
+    public synchronized void insert(long startFrom, byte[] insertedData, int insertedDataOffset, int insertedDataLength) {
+        long addedPosition = addedData.getDataSize();
+        addedData.insert(addedPosition, insertedData, insertedDataOffset, insertedDataLength);
+        insertPiece(startFrom, new Piece(true, addedPosition, insertedDataLength));
+    }
+
+    @Override
+    public synchronized void insert(long startFrom, BinaryData insertedData) {
+        insert(startFrom, insertedData, 0, insertedData.getDataSize());
+    }
+
+    @Override
+    public synchronized void insert(long startFrom, BinaryData insertedData, long insertedDataOffset, long insertedDataLength) {
+        long addedPosition = addedData.getDataSize();
+        addedData.insert(addedPosition, insertedData, insertedDataOffset, insertedDataLength);
+        insertPiece(startFrom, new Piece(true, addedPosition, insertedDataLength));
+    }
+
+    @Override
+    public synchronized long insert(long startFrom, InputStream insertStream, long maximumDataSize) throws IOException {
+        long addedPosition = addedData.getDataSize();
+        long insertedLength = addedData.insert(addedPosition, insertStream, maximumDataSize);
+        insertPiece(startFrom, new Piece(true, addedPosition, insertedLength));
+        return insertedLength;
+    }
+
+    @Override
+    public synchronized void replace(long targetPosition, BinaryData replacingData) {
+        replace(targetPosition, replacingData, 0, replacingData.getDataSize());
+    }
+
+    @Override
+    public synchronized void replace(long targetPosition, BinaryData replacingData, long startFrom, long replacingLength) {
+        if (targetPosition + replacingLength > dataSize) {
+            throw new OutOfBoundsException("Data can be replaced only inside or at the end");
+        }
+
+        remove(targetPosition, replacingLength);
+        insert(targetPosition, replacingData, startFrom, replacingLength);
+    }
+
+    @Override
+    public synchronized void replace(long targetPosition, byte[] replacingData) {
+        replace(targetPosition, replacingData, 0, replacingData.length);
+    }
+
+    @Override
+    public synchronized void replace(long targetPosition, byte[] replacingData, int replacingDataOffset, int length) {
+        if (targetPosition + length > dataSize) {
+            throw new OutOfBoundsException("Data can be replaced only inside or at the end");
+        }
+
+        remove(targetPosition, length);
+        insert(targetPosition, replacingData, replacingDataOffset, length);
+    }
+
+    @Override
+    public synchronized void fillData(long startFrom, long length) {
+        fillData(startFrom, length, (byte) 0);
+    }
+
+    @Override
+    public synchronized void fillData(long startFrom, long length, byte fill) {
+        if (startFrom + length > dataSize) {
+            throw new OutOfBoundsException("Data can be replaced only inside or at the end");
+        }
+
+        remove(startFrom, length);
+        long addedPosition = addedData.getDataSize();
+        addedData.insert(addedPosition, length);
+        addedData.fillData(addedPosition, length, fill);
+        insertPiece(startFrom, new Piece(true, addedPosition, length));
+    }
+
+    @Override
+    public synchronized void remove(long startFrom, long length) {
+        if (length == 0) {
+            return;
+        }
+        checkRange(startFrom, length);
+
+        int firstIndex = splitAt(startFrom);
+        int lastIndex = splitAt(startFrom + length);
+        pieces.subList(firstIndex, lastIndex).clear();
+        dataSize -= length;
+        resetCursor();
+    }
+
+    @Override
+    public synchronized void clear() {
+        pieces.clear();
+        addedData.clear();
+        dataSize = 0;
+        resetCursor();
+    }
+
+    @Override
+    public synchronized void loadFromStream(InputStream inputStream) throws IOException {
+        clear();
+        addedData.loadFromStream(inputStream);
+        dataSize = addedData.getDataSize();
+        if (dataSize > 0) {
+            pieces.add(new Piece(true, 0, dataSize));
+        }
+    }
+
+    @Override
+    public OutputStream getDataOutputStream() {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
+    private void insertPiece(long position, Piece piece) {
+        if (position > dataSize) {
+            throw new OutOfBoundsException("Data can be inserted only inside or at the end");
+        }
+        if (piece.length == 0) {
+            return;
+        }
+
+        int pieceIndex = splitAt(position);
+        if (pieceIndex > 0) {
+            // Join with previous piece when appending continuously, which is typical for typing
+            Piece previous = pieces.get(pieceIndex - 1);
+            if (previous.added && piece.added && previous.offset + previous.length == piece.offset) {
+                pieces.set(pieceIndex - 1, new Piece(true, previous.offset, previous.length + piece.length));
+                dataSize += piece.length;
+                resetCursor();
+                return;
+            }
+        }
+
+        pieces.add(pieceIndex, piece);
+        dataSize += piece.length;
+        resetCursor();
+    }
+
+    /**
+     * Splits piece at given position.
+     *
+     * @param position position
+     * @return index of piece starting at given position
+     */
+    private int splitAt(long position) {
+        if (position == dataSize) {
+            return pieces.size();
+        }
+
+        int pieceIndex = findPiece(position);
+        if (cursorPosition == position) {
+            return pieceIndex;
+        }
+
+        Piece piece = pieces.get(pieceIndex);
+        long splitLength = position - cursorPosition;
+        pieces.set(pieceIndex, new Piece(piece.added, piece.offset, splitLength));
+        pieces.add(pieceIndex + 1, new Piece(piece.added, piece.offset + splitLength, piece.length - splitLength));
+        return pieceIndex + 1;
+    }
+
+    /**
+     * Finds piece containing given position and moves cursor to it.
+     *
+     * @param position position
+     * @return piece index or count of pieces if position is at the end
+     */
+    private int findPiece(long position) {
+        if (position < 0 || position > dataSize) {
+            throw new OutOfBoundsException("Requested data out of bounds");
+        }
+        if (position == dataSize) {
+            return pieces.size();
+        }
+
+        // Search from last found piece, access is usually sequential
+        while (position < cursorPosition) {
+            cursorIndex--;
+            cursorPosition -= pieces.get(cursorIndex).length;
+        }
+        while (position >= cursorPosition + pieces.get(cursorIndex).length) {
+            cursorPosition += pieces.get(cursorIndex).length;
+            cursorIndex++;
+        }
+
+        return cursorIndex;
+    }
+
+    private void resetCursor() {
+        cursorIndex = 0;
+        cursorPosition = 0;
+    }
+
+    private void checkRange(long startFrom, long length) {
+        if (startFrom < 0 || length < 0 || startFrom + length > dataSize) {
+            throw new OutOfBoundsException("Requested data out of bounds");
+        }
+    }
+
+    private static final class Piece {
+
+        final boolean added;
+        final long offset;
+        final long length;
+
+        Piece(boolean added, long offset, long length) {
+            this.added = added;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    @NullMarked
+    public interface PieceVisitor {
+
+        /**
+         * Visits single piece of the data.
+         *
+         * @param data data referenced by the piece
+         * @param fromSource true if piece references source data
+         * @param offset offset in referenced data
+         * @param length length of the piece
+         * @throws IOException if processing fails
+         */
+        void visitPiece(BinaryData data, boolean fromSource, long offset, long length) throws IOException;
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.main;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.bined.netbeans.utils.StreamUtils;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openide.filesystems.FileObject;
+
+/**
+ * Reloader of externally changed file to unmodified content data.
+ * <p>
+ * File is compared with content data by blocks and only changed ranges are
+ * replaced, appended data are inserted and removed tail is cut off, so that
+ * content data are not recreated and view state is kept.
+ * <p>
+ * Comparison uses snapshot of content data, so that content data can be
+ * edited meanwhile. If file only grew since last synchronization and its last
+ * synchronized block is unchanged, file is read from its previous end only.
+ */
+@NullMarked
+public class IncrementalFileReloader {
+
+    private static final int BLOCK_SIZE = 65536;
+
+    private long fileSize = -1;
+    private long lastModified = -1;
+
+    /**
+     * Records state of the file after it was loaded, saved or reloaded.
+     *
+     * @param fileObject file object
+     */
+    public synchronized void fileSynced(FileObject fileObject) {
+        fileSize = fileObject.getSize();
+        lastModified = fileObject.lastModified().getTime();
+    }
+
+    /**
+     * Returns true if size or modification time of the file differs from
+     * last synchronized state.
+     *
+     * @param fileObject file object
+     * @return true if file was changed
+     */
+    public synchronized boolean isChanged(FileObject fileObject) {
+        return fileObject.getSize() != fileSize || fileObject.lastModified().getTime() != lastModified;
+    }
+
+    /**
+     * Creates snapshot of content data for comparison with the file.
+     * <p>
+     * Should be called from event dispatch thread, which modifies content
+     * data.
+     *
+     * @param fileObject file object
+     * @param data content data
+     * @param appendOnly true to allow snapshot of last synchronized block only
+     * if file grew
+     * @return data snapshot
+     */
+    public synchronized DataSnapshot createSnapshot(FileObject fileObject, BinaryData data, boolean appendOnly) {
+        long dataSize = data.getDataSize();
+        if (appendOnly && dataSize > 0 && dataSize == fileSize && fileObject.getSize() > dataSize) {
+            long tailStart = Math.max(0, dataSize - BLOCK_SIZE);
+            return new DataSnapshot(data.copy(tailStart, dataSize - tailStart), tailStart);
+        }
+
+        return new DataSnapshot(data.copy(), 0);
+    }
+
+    /**
+     * Compares content of the file with snapshot of content data.
+     * <p>
+     * Should be called outside of event dispatch thread.
+     *
+     * @param fileObject file object
+     * @param snapshot data snapshot
+     * @return list of changes ordered by position or null if snapshot of last
+     * block only was used and the file was not just appended
+     * @throws IOException if file reading fails
+     */
+    @Nullable
+    public List<DataChange> computeChanges(FileObject fileObject, DataSnapshot snapshot) throws IOException {
+        if (snapshot.getOffset() > 0) {
+            // Snapshot of last block only, small data are copied whole
+            return computeAppendedChanges(fileObject, snapshot);
+        }
+
+        BinaryData data = snapshot.getData();
+        List<DataChange> changes = new ArrayList<>();
+        long dataSize = data.getDataSize();
+        long position = 0;
+        byte[] fileBlock = new byte[BLOCK_SIZE];
+        byte[] dataBlock = new byte[BLOCK_SIZE];
+        try (InputStream stream = fileObject.getInputStream()) {
+            while (true) {
+                int length = StreamUtils.readBlock(stream, fileBlock, 0, BLOCK_SIZE);
+                if (length == 0) {
+                    break;
+                }
+
+                int overlap = (int) Math.max(0, Math.min(length, dataSize - position));
+                if (overlap > 0) {
+                    data.copyToArray(position, dataBlock, 0, overlap);
+                    int first = 0;
+                    while (first < overlap && fileBlock[first] == dataBlock[first]) {
+                        first++;
+                    }
+                    if (first < overlap) {
+                        int last = overlap - 1;
+                        while (fileBlock[last] == dataBlock[last]) {
+                            last--;
+                        }
+                        changes.add(new DataChange(position + first, last - first + 1, Arrays.copyOfRange(fileBlock, first, last + 1)));
+                    }
+                }
+
+                if (length > overlap) {
+                    changes.add(new DataChange(position + overlap, 0, Arrays.copyOfRange(fileBlock, overlap, length)));
+                }
+
+                position += length;
+                if (length < BLOCK_SIZE) {
+                    break;
+                }
+            }
+        }
+
+        if (position < dataSize) {
+            changes.add(new DataChange(position, dataSize - position, new byte[0]));
+        }
+
+        return changes;
+    }
+
+    @Nullable
+    private List<DataChange> computeAppendedChanges(FileObject fileObject, DataSnapshot snapshot) throws IOException {
+        BinaryData tailData = snapshot.getData();
+        int tailLength = (int) tailData.getDataSize();
+        byte[] fileBlock = new byte[BLOCK_SIZE];
+        byte[] dataBlock = new byte[BLOCK_SIZE];
+        List<DataChange> changes = new ArrayList<>();
+        try (InputStream stream = fileObject.getInputStream()) {
+            StreamUtils.skipInputStreamData(stream, snapshot.getOffset());
+            int length = StreamUtils.readBlock(stream, fileBlock, 0, tailLength);
+            tailData.copyToArray(0, dataBlock, 0, tailLength);
+            if (length < tailLength || !Arrays.equals(Arrays.copyOf(fileBlock, tailLength), Arrays.copyOf(dataBlock, tailLength))) {
+                return null;
+            }
+
+            long position = snapshot.getOffset() + tailLength;
+            while (true) {
+                length = StreamUtils.readBlock(stream, fileBlock, 0, BLOCK_SIZE);
+                if (length == 0) {
+                    break;
+                }
+
+                changes.add(new DataChange(position, 0, Arrays.copyOf(fileBlock, length)));
+                position += length;
+                if (length < BLOCK_SIZE) {
+                    break;
+                }
+            }
+        }
+
+        return changes;
+    }
+
+    /**
+     * Applies changes to content data.
+     *
+     * @param data content data
+     * @param changes list of changes
+     */
+    public static void applyChanges(EditableBinaryData data, List<DataChange> changes) {
+        for (DataChange change : changes) {
+            byte[] changeData = change.getData();
+            long removedLength = change.getRemovedLength();
+            if (removedLength == changeData.length) {
+                data.replace(change.getPosition(), changeData);
+            } else {
+                if (removedLength > 0) {
+                    data.remove(change.getPosition(), removedLength);
+                }
+                if (changeData.length > 0) {
+                    data.insert(change.getPosition(), changeData);
+                }
+            }
+        }
+    }
+
+    /**
+     * Snapshot of content data or of its last synchronized block.
+     */
+    public static final class DataSnapshot {
+
+        private final BinaryData data;
+        private final long offset;
+
+        private DataSnapshot(BinaryData data, long offset) {
+            this.data = data;
+            this.offset = offset;
+        }
+
+        public BinaryData getData() {
+            return data;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public void dispose() {
+            data.dispose();
+        }
+    }
+
+    /**
+     * Change of content data replacing range with new data.
+     */
+    public static final class DataChange {
+
+        private final long position;
+        private final long removedLength;
+        private final byte[] data;
+
+        public DataChange(long position, long removedLength, byte[] data) {
+            this.position = position;
+            this.removedLength = removedLength;
+            this.data = data;
+        }
+
+        public long getPosition() {
+            return position;
+        }
+
+        public long getRemovedLength() {
+            return removedLength;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+    }
+}
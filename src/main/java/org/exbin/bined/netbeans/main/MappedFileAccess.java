@@ -0,0 +1,404 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.main;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+
+/**
+ * Random access to local file using file channel and mapped windows.
+ * <p>
+ * Reads are served from read only mapped windows, modifications are written
+ * using positional channel writes so that only changed range and eventually
+ * tail of the file is touched. Mapped window is unmapped before any change of
+ * the file size, as mapped file cannot be truncated on some platforms and
+ * reading mapped range beyond end of the file crashes the virtual machine.
+ * <p>
+ * Reading is thread safe. Mapped window is replaced and unmapped under
+ * exclusive lock, so that no window is unmapped while it is read and no
+ * replaced window stays mapped until garbage collection.
+ * <p>
+ * Only available for file objects backed by local file, virtual file systems
+ * have to use stream access instead.
+ */
+@NullMarked
+public class MappedFileAccess {
+
+    public static final int WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final boolean writable;
+    private final ReentrantReadWriteLock windowLock = new ReentrantReadWriteLock();
+    @Nullable
+    private MappedWindow window = null;
+    private volatile boolean mappingEnabled = true;
+
+    private MappedFileAccess(FileChannel channel, boolean writable) {
+        this.channel = channel;
+        this.writable = writable;
+    }
+
+    /**
+     * Opens random access for given file object if possible.
+     *
+     * @param fileObject file object
+     * @return file access or null if file object is not local file
+     */
+    @Nullable
+    public static MappedFileAccess open(FileObject fileObject) {
+        File file = FileUtil.toFile(fileObject);
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+
+        if (fileObject.canWrite()) {
+            try {
+                return new MappedFileAccess(FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE), true);
+            } catch (IOException | UnsupportedOperationException | SecurityException ex) {
+                // Try read only access
+            }
+        }
+
+        try {
+            return new MappedFileAccess(FileChannel.open(file.toPath(), StandardOpenOption.READ), false);
+        } catch (IOException | UnsupportedOperationException | SecurityException ex) {
+            return null;
+        }
+    }
+
+    public boolean isWritable() {
+        return writable;
+    }
+
+    public long getSize() throws IOException {
+        return channel.size();
+    }
+
+    public boolean isMappingEnabled() {
+        return mappingEnabled;
+    }
+
+    /**
+     * Enables or disables reading using mapped windows.
+     * <p>
+     * Mapping should be disabled for files which can be shrunk by another
+     * process, data are then read using positional channel reads.
+     *
+     * @param mappingEnabled true to read using mapped windows
+     */
+    public void setMappingEnabled(boolean mappingEnabled) {
+        this.mappingEnabled = mappingEnabled;
+        if (!mappingEnabled) {
+            resetWindow();
+        }
+    }
+
+    public byte getByte(long position) throws IOException {
+        if (!mappingEnabled) {
+            byte[] value = new byte[1];
+            copyToArray(position, value, 0, 1);
+            return value[0];
+        }
+
+        windowLock.readLock().lock();
+        try {
+            MappedWindow currentWindow = getWindow(position);
+            return currentWindow.buffer.get((int) (position - currentWindow.position));
+        } finally {
+            windowLock.readLock().unlock();
+        }
+    }
+
+    public void copyToArray(long position, byte[] target, int offset, int length) throws IOException {
+        if (!mappingEnabled) {
+            ByteBuffer buffer = ByteBuffer.wrap(target, offset, length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position() - offset) < 0) {
+                    throw new IndexOutOfBoundsException("Requested data out of bounds");
+                }
+            }
+            return;
+        }
+
+        windowLock.readLock().lock();
+        try {
+            while (length > 0) {
+                MappedWindow currentWindow = getWindow(position);
+                ByteBuffer buffer = currentWindow.buffer.duplicate();
+                int windowOffset = (int) (position - currentWindow.position);
+                int copyLength = Math.min(length, currentWindow.length - windowOffset);
+                buffer.position(windowOffset);
+                buffer.get(target, offset, copyLength);
+                position += copyLength;
+                offset += copyLength;
+                length -= copyLength;
+            }
+        } finally {
+            windowLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes data at given position.
+     *
+     * @param position target position
+     * @param data source data
+     * @param offset source data offset
+     * @param length length of data
+     * @throws IOException if write fails
+     */
+    public void write(long position, byte[] data, int offset, int length) throws IOException {
+        writeFully(ByteBuffer.wrap(data, offset, length), position);
+    }
+
+    /**
+     * Fills given range with specified value.
+     *
+     * @param position target position
+     * @param length length of range
+     * @param fill fill value
+     * @throws IOException if write fails
+     */
+    public void fill(long position, long length, byte fill) throws IOException {
+        byte[] buffer = new byte[length < BUFFER_SIZE ? (int) length : BUFFER_SIZE];
+        Arrays.fill(buffer, fill);
+        while (length > 0) {
+            int toWrite = length < BUFFER_SIZE ? (int) length : BUFFER_SIZE;
+            write(position, buffer, 0, toWrite);
+            position += toWrite;
+            length -= toWrite;
+        }
+    }
+
+    /**
+     * Inserts space of given length at given position by moving tail of the
+     * file.
+     * <p>
+     * Content of inserted space is undefined.
+     *
+     * @param position insertion position
+     * @param length length of inserted space
+     * @throws IOException if read or write fails
+     */
+    public void insertSpace(long position, long length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+
+        resetWindow();
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long end = size;
+        while (end > position) {
+            int chunkLength = end - position < BUFFER_SIZE ? (int) (end - position) : BUFFER_SIZE;
+            long chunkStart = end - chunkLength;
+            readFully(buffer, chunkStart, chunkLength);
+            writeFully(buffer, chunkStart + length);
+            end = chunkStart;
+        }
+
+        if (channel.size() < size + length) {
+            // Extend file when inserting at the end
+            buffer.clear();
+            buffer.put((byte) 0);
+            buffer.flip();
+            writeFully(buffer, size + length - 1);
+        }
+    }
+
+    /**
+     * Removes range of given length at given position by moving tail of the
+     * file and truncating it.
+     *
+     * @param position removal position
+     * @param length length of removed range
+     * @throws IOException if read or write fails
+     */
+    public void removeSpace(long position, long length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+
+        resetWindow();
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long source = position + length;
+        while (source < size) {
+            int chunkLength = size - source < BUFFER_SIZE ? (int) (size - source) : BUFFER_SIZE;
+            readFully(buffer, source, chunkLength);
+            writeFully(buffer, source - length);
+            source += chunkLength;
+        }
+        channel.truncate(size - length);
+    }
+
+    public void truncate(long size) throws IOException {
+        resetWindow();
+        channel.truncate(size);
+    }
+
+    /**
+     * Unmaps current mapped window, must be called before file size changes.
+     * <p>
+     * Waits until reads of the window are finished.
+     */
+    public void resetWindow() {
+        windowLock.writeLock().lock();
+        try {
+            MappedWindow currentWindow = window;
+            window = null;
+            if (currentWindow != null) {
+                unmap(currentWindow.buffer);
+            }
+        } finally {
+            windowLock.writeLock().unlock();
+        }
+    }
+
+    public void close() {
+        resetWindow();
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            // Ignore
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position, int length) throws IOException {
+        buffer.clear();
+        buffer.limit(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        buffer.flip();
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Returns window containing given position, must be called with read lock
+     * held.
+     * <p>
+     * Missing window is mapped under write lock, which is then downgraded
+     * back to read lock, replaced window is unmapped.
+     */
+    private MappedWindow getWindow(long position) throws IOException {
+        MappedWindow currentWindow = window;
+        if (currentWindow != null && currentWindow.contains(position)) {
+            return currentWindow;
+        }
+
+        windowLock.readLock().unlock();
+        windowLock.writeLock().lock();
+        try {
+            // Window might be replaced by other reader meanwhile
+            currentWindow = window;
+            if (currentWindow != null && currentWindow.contains(position)) {
+                return currentWindow;
+            }
+
+            long size = channel.size();
+            if (position < 0 || position >= size) {
+                throw new IndexOutOfBoundsException("Requested data out of bounds");
+            }
+
+            long startPosition = position - (position % WINDOW_SIZE);
+            int length = (int) Math.min(WINDOW_SIZE, size - startPosition);
+            MappedWindow replacedWindow = currentWindow;
+            currentWindow = new MappedWindow(channel.map(FileChannel.MapMode.READ_ONLY, startPosition, length), startPosition, length);
+            window = currentWindow;
+            if (replacedWindow != null) {
+                unmap(replacedWindow.buffer);
+            }
+            return currentWindow;
+        } finally {
+            windowLock.readLock().lock();
+            windowLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Releases mapped buffer without waiting for garbage collection.
+     * <p>
+     * If not supported by runtime, buffer is released by garbage collector.
+     *
+     * @param buffer mapped buffer
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner;
+            try {
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            } catch (NoSuchMethodException ex) {
+                // Java 8 uses cleaner of the direct buffer
+                Method cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+                return;
+            }
+
+            Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+            unsafeField.setAccessible(true);
+            invokeCleaner.invoke(unsafeField.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            // Mapping is released by garbage collector
+        }
+    }
+
+    /**
+     * Immutable mapped window, buffer is only accessed using absolute reads or
+     * via duplicate so that it can be shared by concurrent readers.
+     */
+    private static class MappedWindow {
+
+        final MappedByteBuffer buffer;
+        final long position;
+        final int length;
+
+        MappedWindow(MappedByteBuffer buffer, long position, int length) {
+            this.buffer = buffer;
+            this.position = position;
+            this.length = length;
+        }
+
+        boolean contains(long dataPosition) {
+            return dataPosition >= position && dataPosition < position + length;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.main;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.exbin.bined.jaguif.BinEdFileHandler;
+import org.exbin.bined.jaguif.document.FileProcessingMode;
+import org.exbin.bined.swing.section.SectCodeArea;
+import org.jspecify.annotations.NullMarked;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+
+/**
+ * Governor of memory used by content data of all opened editors.
+ * <p>
+ * Editors are kept in order of last focus. When content data loaded to memory
+ * exceed memory budget, unmodified local files of least recently focused
+ * editors are reopened in delta mode, which keeps only changes in memory.
+ * <p>
+ * Governor should be used from event dispatch thread.
+ */
+@NullMarked
+public final class MemoryBudgetGovernor {
+
+    private static final MemoryBudgetGovernor INSTANCE = new MemoryBudgetGovernor();
+
+    // Kept in order of last focus, order is changed only by focused method
+    private final Map<BinEdFileHandler, EditorRecord> editors = new LinkedHashMap<>();
+
+    private MemoryBudgetGovernor() {
+    }
+
+    public static MemoryBudgetGovernor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers editor with loaded file content.
+     *
+     * @param fileHandler file handler
+     * @param fileObject file object
+     * @param modeChangeListener listener called when file was switched to
+     * delta mode
+     */
+    public synchronized void register(BinEdFileHandler fileHandler, FileObject fileObject, Runnable modeChangeListener) {
+        EditorRecord record = editors.get(fileHandler);
+        if (record == null) {
+            // Newly opened editor is focused
+            editors.put(fileHandler, new EditorRecord(fileObject, modeChangeListener));
+        } else if (record.fileObject != fileObject) {
+            editors.replace(fileHandler, new EditorRecord(fileObject, modeChangeListener));
+        }
+    }
+
+    public synchronized void unregister(BinEdFileHandler fileHandler) {
+        editors.remove(fileHandler);
+    }
+
+    /**
+     * Marks editor as most recently focused.
+     *
+     * @param fileHandler file handler
+     */
+    public synchronized void focused(BinEdFileHandler fileHandler) {
+        EditorRecord record = editors.remove(fileHandler);
+        if (record != null) {
+            editors.put(fileHandler, record);
+        }
+    }
+
+    /**
+     * Returns true if editor was switched to delta mode by governor.
+     *
+     * @param fileHandler file handler
+     * @return true if spilled
+     */
+    public synchronized boolean isSpilled(BinEdFileHandler fileHandler) {
+        EditorRecord record = editors.get(fileHandler);
+        return record != null && record.spilled;
+    }
+
+    /**
+     * Returns size of content data held in memory by all editors.
+     *
+     * @return size in bytes
+     */
+    public synchronized long getMemoryUsage() {
+        long usage = 0;
+        for (BinEdFileHandler fileHandler : editors.keySet()) {
+            usage += getMemoryUsage(fileHandler);
+        }
+        return usage;
+    }
+
+    /**
+     * Switches least recently focused editors to delta mode until memory
+     * usage fits to given budget.
+     * <p>
+     * Most recently focused editor and editors with modified content are kept
+     * in memory.
+     *
+     * @param memoryBudget memory budget in bytes, zero or negative value
+     * disables limit
+     */
+    public void enforceBudget(long memoryBudget) {
+        if (memoryBudget <= 0) {
+            return;
+        }
+
+        List<BinEdFileHandler> candidates;
+        long usage;
+        synchronized (this) {
+            usage = getMemoryUsage();
+            if (usage <= memoryBudget) {
+                return;
+            }
+
+            candidates = new ArrayList<>(editors.keySet());
+            // Most recently focused editor is last
+            candidates.remove(candidates.size() - 1);
+        }
+
+        for (BinEdFileHandler fileHandler : candidates) {
+            if (usage <= memoryBudget) {
+                break;
+            }
+
+            long editorUsage = getMemoryUsage(fileHandler);
+            if (editorUsage > 0 && spill(fileHandler)) {
+                usage -= editorUsage;
+            }
+        }
+    }
+
+    private boolean spill(BinEdFileHandler fileHandler) {
+        EditorRecord record;
+        synchronized (this) {
+            record = editors.get(fileHandler);
+        }
+        File file = record == null ? null : FileUtil.toFile(record.fileObject);
+        if (file == null || SharedDocumentRegistry.getInstance().isModified(fileHandler)) {
+            return false;
+        }
+
+        SectCodeArea codeArea = fileHandler.getCodeArea();
+        long caretPosition = codeArea.getActiveCaretPosition().getDataPosition();
+        fileHandler.setNewData(FileProcessingMode.DELTA);
+        fileHandler.loadFromFile(file.toURI(), null);
+        codeArea.setActiveCaretPosition(Math.min(caretPosition, codeArea.getDataSize()));
+        record.spilled = true;
+        SharedDocumentRegistry.getInstance().contentLoaded(fileHandler);
+        record.modeChangeListener.run();
+        return true;
+    }
+
+    private static long getMemoryUsage(BinEdFileHandler fileHandler) {
+        if (fileHandler.getFileProcessingMode() != FileProcessingMode.MEMORY) {
+            return 0;
+        }
+
+        // Views sharing document are counted only once
+        if (SharedDocumentRegistry.getInstance().getDocumentHandler(fileHandler) != fileHandler) {
+            return 0;
+        }
+
+        return fileHandler.getCodeArea().getDataSize();
+    }
+
+    private static final class EditorRecord {
+
+        private final FileObject fileObject;
+        private final Runnable modeChangeListener;
+        private boolean spilled = false;
+
+        EditorRecord(FileObject fileObject, Runnable modeChangeListener) {
+            this.fileObject = fileObject;
+            this.modeChangeListener = modeChangeListener;
+        }
+    }
+}
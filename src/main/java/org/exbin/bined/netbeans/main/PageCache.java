@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.main;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Cache of data pages with least recently used eviction.
+ * <p>
+ * Cache is thread safe, cached pages are expected not to be modified.
+ */
+@NullMarked
+public class PageCache {
+
+    public static final int DEFAULT_CAPACITY = 16;
+    public static final int MINIMUM_CAPACITY = 2;
+
+    private final int capacity;
+    private final int pageSize;
+    private final Map<Long, byte[]> pages;
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    public PageCache(int pageSize) {
+        this(DEFAULT_CAPACITY, pageSize);
+    }
+
+    public PageCache(int capacity, int pageSize) {
+        this.capacity = Math.max(capacity, MINIMUM_CAPACITY);
+        this.pageSize = pageSize;
+        pages = new LinkedHashMap<Long, byte[]>(this.capacity + 1, 1f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                return size() > PageCache.this.capacity;
+            }
+        };
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Returns cached page and marks it as recently used.
+     *
+     * @param pageIndex page index
+     * @return page data or null if page is not cached
+     */
+    @Nullable
+    public synchronized byte[] getPage(long pageIndex) {
+        byte[] page = pages.get(pageIndex);
+        if (page == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+
+        return page;
+    }
+
+    /**
+     * Returns cached page without affecting hit and miss counters.
+     *
+     * @param pageIndex page index
+     * @return page data or null if page is not cached
+     */
+    @Nullable
+    public synchronized byte[] peekPage(long pageIndex) {
+        return pages.get(pageIndex);
+    }
+
+    /**
+     * Stores page to cache, evicting least recently used page if capacity is
+     * exceeded.
+     *
+     * @param pageIndex page index
+     * @param page page data
+     */
+    public synchronized void putPage(long pageIndex, byte[] page) {
+        pages.put(pageIndex, page);
+    }
+
+    public synchronized boolean containsPage(long pageIndex) {
+        return pages.containsKey(pageIndex);
+    }
+
+    public synchronized void removePage(long pageIndex) {
+        pages.remove(pageIndex);
+    }
+
+    public synchronized void clear() {
+        pages.clear();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized void resetCounters() {
+        hitCount = 0;
+        missCount = 0;
+    }
+}
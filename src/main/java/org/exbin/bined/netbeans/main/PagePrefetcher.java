@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.main;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Read-ahead of pages for sequential access.
+ * <p>
+ * Direction of access is detected from sequence of accessed pages and when
+ * access is sequential, following pages are loaded in background. Pending
+ * loading is cancelled when access jumps elsewhere.
+ */
+@NullMarked
+public class PagePrefetcher {
+
+    public static final int DEFAULT_PREFETCH_PAGES = 8;
+    private static final int SEQUENTIAL_THRESHOLD = 2;
+
+    private static final RequestProcessor PREFETCH_RP = new RequestProcessor("BinEd page prefetch", 2, true); // NOI18N
+
+    private final PageLoader pageLoader;
+    private final int prefetchPages;
+
+    private volatile long lastPageIndex = -1;
+    private int direction = 0;
+    private int sequentialCount = 0;
+    private long prefetchFrom = -1;
+    private long prefetchTo = -1;
+    private volatile int generation = 0;
+    @Nullable
+    private RequestProcessor.Task prefetchTask = null;
+
+    public PagePrefetcher(PageLoader pageLoader, int prefetchPages) {
+        this.pageLoader = pageLoader;
+        this.prefetchPages = prefetchPages;
+    }
+
+    /**
+     * Records access to page and schedules prefetch if access is sequential.
+     *
+     * @param pageIndex accessed page index
+     */
+    public void pageAccessed(long pageIndex) {
+        if (pageIndex == lastPageIndex) {
+            return;
+        }
+
+        synchronized (this) {
+            processPageAccess(pageIndex);
+        }
+    }
+
+    private void processPageAccess(long pageIndex) {
+        if (pageIndex == lastPageIndex) {
+            return;
+        }
+
+        int accessDirection = pageIndex == lastPageIndex + 1 ? 1 : (pageIndex == lastPageIndex - 1 ? -1 : 0);
+        lastPageIndex = pageIndex;
+        if (accessDirection == 0 || accessDirection != direction) {
+            if (accessDirection == 0 && (pageIndex < prefetchFrom || pageIndex > prefetchTo)) {
+                cancel();
+            }
+            direction = accessDirection;
+            sequentialCount = accessDirection == 0 ? 0 : 1;
+            return;
+        }
+
+        sequentialCount++;
+        if (sequentialCount < SEQUENTIAL_THRESHOLD) {
+            return;
+        }
+
+        // Schedule next batch when half of the prefetched pages were consumed
+        long firstPage;
+        if (direction > 0) {
+            if (prefetchTo >= pageIndex + prefetchPages / 2) {
+                return;
+            }
+            firstPage = Math.max(pageIndex, prefetchTo) + 1;
+        } else {
+            if (prefetchFrom >= 0 && prefetchFrom <= pageIndex - prefetchPages / 2) {
+                return;
+            }
+            firstPage = (prefetchFrom >= 0 ? Math.min(pageIndex, prefetchFrom) : pageIndex) - prefetchPages;
+        }
+
+        long lastPage = firstPage + prefetchPages - 1;
+        if (firstPage < 0) {
+            firstPage = 0;
+        }
+        long pagesCount = pageLoader.getPagesCount();
+        if (lastPage >= pagesCount) {
+            lastPage = pagesCount - 1;
+        }
+        if (lastPage < firstPage) {
+            return;
+        }
+
+        prefetchFrom = prefetchFrom >= 0 ? Math.min(prefetchFrom, firstPage) : firstPage;
+        prefetchTo = Math.max(prefetchTo, lastPage);
+        final long loadFrom = firstPage;
+        final int loadCount = (int) (lastPage - firstPage + 1);
+        final int taskGeneration = generation;
+        prefetchTask = PREFETCH_RP.post(() -> {
+            try {
+                pageLoader.loadPages(loadFrom, loadCount, () -> taskGeneration != generation || Thread.currentThread().isInterrupted());
+            } catch (RuntimeException ex) {
+                Logger.getLogger(PagePrefetcher.class.getName()).log(Level.FINE, "Page prefetch failed", ex);
+            }
+        });
+    }
+
+    /**
+     * Cancels pending prefetch and forgets detected access pattern.
+     */
+    public synchronized void cancel() {
+        generation++;
+        if (prefetchTask != null) {
+            prefetchTask.cancel();
+            prefetchTask = null;
+        }
+        prefetchFrom = -1;
+        prefetchTo = -1;
+        direction = 0;
+        sequentialCount = 0;
+    }
+
+    @NullMarked
+    public interface PageLoader {
+
+        /**
+         * Returns total count of pages.
+         *
+         * @return count of pages
+         */
+        long getPagesCount();
+
+        /**
+         * Loads given range of pages into the cache.
+         *
+         * @param firstPage first page index
+         * @param count count of pages
+         * @param cancelled cancellation check
+         */
+        void loadPages(long firstPage, int count, CancelCheck cancelled);
+    }
+
+    @NullMarked
+    public interface CancelCheck {
+
+        boolean isCancelled();
+    }
+}
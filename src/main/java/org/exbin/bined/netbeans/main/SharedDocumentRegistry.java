@@ -0,0 +1,372 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.main;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.bined.DataChangedListener;
+import org.exbin.bined.EditMode;
+import org.exbin.bined.jaguif.BinEdFileHandler;
+import org.exbin.bined.jaguif.component.UndoRedoWrapper;
+import org.exbin.bined.swing.section.SectCodeArea;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.openide.filesystems.FileObject;
+
+/**
+ * Registry of documents shared by all editors of the same file.
+ * <p>
+ * File content is loaded only by the first file handler opening the file,
+ * which becomes owner of the document. Other file handlers show the same
+ * content data, so that data and page cache are held only once and edits are
+ * visible in all views. Owner keeps the data until last view of the file is
+ * released. Undo history and modified state are shared by all views using
+ * undo handler of the owner.
+ * <p>
+ * Registry should be used from event dispatch thread.
+ */
+@NullMarked
+public final class SharedDocumentRegistry {
+
+    private static final SharedDocumentRegistry INSTANCE = new SharedDocumentRegistry();
+
+    private final Map<FileObject, SharedDocument> documents = new HashMap<>();
+
+    private SharedDocumentRegistry() {
+    }
+
+    public static SharedDocumentRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Acquires document of the file for file handler.
+     * <p>
+     * If file is already opened by another file handler, code area of given
+     * file handler is set to shared content data.
+     *
+     * @param fileObject file object
+     * @param fileHandler file handler
+     * @return true if shared content data were assigned, false if file handler
+     * owns the document and should load file content
+     */
+    public synchronized boolean acquire(FileObject fileObject, BinEdFileHandler fileHandler) {
+        SharedDocument document = documents.get(fileObject);
+        if (document == null) {
+            document = new SharedDocument(fileObject, fileHandler);
+            documents.put(fileObject, document);
+            document.addView(fileHandler);
+            return false;
+        }
+
+        if (document.owner == fileHandler) {
+            return false;
+        }
+
+        if (!document.views.containsKey(fileHandler)) {
+            document.addView(fileHandler);
+        }
+        fileHandler.getCodeArea().setContentData(document.getData());
+        return true;
+    }
+
+    /**
+     * Propagates content data loaded by owner of the document to all other
+     * views.
+     *
+     * @param fileHandler file handler
+     */
+    public synchronized void contentLoaded(BinEdFileHandler fileHandler) {
+        SharedDocument document = findDocument(fileHandler);
+        if (document == null || document.owner != fileHandler) {
+            return;
+        }
+
+        BinaryData data = document.getData();
+        for (BinEdFileHandler view : document.views.keySet()) {
+            SectCodeArea codeArea = view.getCodeArea();
+            if (codeArea.getContentData() != data) {
+                codeArea.setContentData(data);
+            }
+        }
+    }
+
+    /**
+     * Releases document of the file handler.
+     * <p>
+     * Owner of the document is not closed while file is still shown in other
+     * views, it is closed when last view is released instead. Other views
+     * keep shared data, as they might still be referenced by shared undo
+     * history.
+     *
+     * @param fileHandler file handler
+     * @return true if data of file handler should be closed
+     */
+    public synchronized boolean release(BinEdFileHandler fileHandler) {
+        SharedDocument document = findDocument(fileHandler);
+        if (document == null) {
+            return true;
+        }
+
+        boolean closeData = false;
+        if (document.owner == fileHandler) {
+            document.ownerReleased = true;
+            if (document.views.size() > 1) {
+                // Changes done using shared undo are reported by code area of the owner
+                document.ownerListener = document.views.remove(fileHandler);
+            } else {
+                document.removeView(fileHandler);
+                closeData = true;
+            }
+        } else {
+            document.removeView(fileHandler);
+        }
+
+        if (document.views.isEmpty()) {
+            documents.remove(document.fileObject);
+            if (document.ownerListener != null) {
+                document.owner.getCodeArea().removeDataChangedListener(document.ownerListener);
+            }
+            if (document.owner != fileHandler) {
+                MemoryBudgetGovernor.getInstance().unregister(document.owner);
+                document.owner.closeData();
+            }
+        }
+
+        return closeData;
+    }
+
+    /**
+     * Returns true if file handler shares content data with other views.
+     *
+     * @param fileHandler file handler
+     * @return true if shared
+     */
+    public synchronized boolean isShared(BinEdFileHandler fileHandler) {
+        SharedDocument document = findDocument(fileHandler);
+        return document != null && document.views.size() > 1;
+    }
+
+    /**
+     * Returns true if document shown by file handler was modified in any of
+     * its views.
+     *
+     * @param fileHandler file handler
+     * @return true if modified
+     */
+    public synchronized boolean isModified(BinEdFileHandler fileHandler) {
+        SharedDocument document = findDocument(fileHandler);
+        if (document == null) {
+            return fileHandler.isModified();
+        }
+
+        if (document.owner.isModified()) {
+            return true;
+        }
+        for (BinEdFileHandler view : document.views.keySet()) {
+            if (view.isModified()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if file handler is the view responsible for operations on
+     * the document like reloading, which should be performed only once.
+     *
+     * @param fileHandler file handler
+     * @return true for owner or first remaining view if owner was released
+     */
+    public synchronized boolean isPrimaryView(BinEdFileHandler fileHandler) {
+        SharedDocument document = findDocument(fileHandler);
+        if (document == null) {
+            return true;
+        }
+
+        return document.views.keySet().iterator().next() == fileHandler;
+    }
+
+    /**
+     * Returns undo handler shared by all views of document shown by given
+     * file handler.
+     *
+     * @param fileHandler file handler
+     * @return undo handler or null if file handler is not registered
+     */
+    @Nullable
+    public synchronized BinaryUndoSwingHandler getUndoHandler(BinEdFileHandler fileHandler) {
+        SharedDocument document = findDocument(fileHandler);
+        return document == null ? null : document.undoHandler;
+    }
+
+    /**
+     * Returns file handler owning document shown by given file handler.
+     * <p>
+     * Owner holds content data of the document and should be used for
+     * operations on the data itself like change of processing mode. Owner is
+     * kept until last view is released even if its own view was closed.
+     *
+     * @param fileHandler file handler
+     * @return owner of the document or given file handler if not registered
+     */
+    public synchronized BinEdFileHandler getDocumentHandler(BinEdFileHandler fileHandler) {
+        SharedDocument document = findDocument(fileHandler);
+        return document == null ? fileHandler : document.owner;
+    }
+
+    /**
+     * Saves document shown by given file handler.
+     * <p>
+     * Document is saved by its owner, all remaining views are synchronized
+     * with saved file afterwards, as view of the owner might be closed.
+     *
+     * @param fileHandler file handler
+     */
+    public void saveDocument(BinEdFileHandler fileHandler) {
+        getDocumentHandler(fileHandler).saveFile();
+        documentSaved(fileHandler);
+    }
+
+    /**
+     * Disables editing in all views of document shown by given file handler,
+     * so that document can be saved in background.
+     *
+     * @param fileHandler file handler
+     * @return action restoring previous edit mode of the views
+     */
+    public Runnable lockDocument(BinEdFileHandler fileHandler) {
+        Map<SectCodeArea, EditMode> editModes = new LinkedHashMap<>();
+        for (BinEdFileHandler view : getViews(fileHandler)) {
+            SectCodeArea codeArea = view.getCodeArea();
+            editModes.put(codeArea, codeArea.getEditMode());
+            codeArea.setEditMode(EditMode.READ_ONLY);
+        }
+
+        return () -> {
+            for (Map.Entry<SectCodeArea, EditMode> entry : editModes.entrySet()) {
+                entry.getKey().setEditMode(entry.getValue());
+            }
+        };
+    }
+
+    /**
+     * Synchronizes all views of document shown by given file handler with
+     * saved file.
+     *
+     * @param fileHandler file handler
+     */
+    public void documentSaved(BinEdFileHandler fileHandler) {
+        for (BinEdFileHandler view : getViews(fileHandler)) {
+            view.fileSync();
+        }
+    }
+
+    /**
+     * Returns all views of document shown by given file handler including
+     * owner of the document.
+     *
+     * @param fileHandler file handler
+     * @return file handlers
+     */
+    public synchronized List<BinEdFileHandler> getViews(BinEdFileHandler fileHandler) {
+        SharedDocument document = findDocument(fileHandler);
+        if (document == null) {
+            return Collections.singletonList(fileHandler);
+        }
+
+        List<BinEdFileHandler> views = new ArrayList<>(document.views.keySet());
+        if (!views.contains(document.owner)) {
+            views.add(0, document.owner);
+        }
+        return views;
+    }
+
+    @Nullable
+    private SharedDocument findDocument(BinEdFileHandler fileHandler) {
+        for (SharedDocument document : documents.values()) {
+            if (document.owner == fileHandler || document.views.containsKey(fileHandler)) {
+                return document;
+            }
+        }
+
+        return null;
+    }
+
+    private static final class SharedDocument {
+
+        private final FileObject fileObject;
+        private final BinEdFileHandler owner;
+        @Nullable
+        private final BinaryUndoSwingHandler undoHandler;
+        private final Map<BinEdFileHandler, DataChangedListener> views = new LinkedHashMap<>();
+        @Nullable
+        private DataChangedListener ownerListener = null;
+        private boolean ownerReleased = false;
+        private boolean propagating = false;
+
+        SharedDocument(FileObject fileObject, BinEdFileHandler owner) {
+            this.fileObject = fileObject;
+            this.owner = owner;
+            UndoRedoWrapper undoWrapper = (UndoRedoWrapper) owner.getUndoRedo().orElse(null);
+            undoHandler = undoWrapper != null && undoWrapper.getUndoRedo() instanceof BinaryUndoSwingHandler ? (BinaryUndoSwingHandler) undoWrapper.getUndoRedo() : null;
+        }
+
+        BinaryData getData() {
+            return owner.getCodeArea().getContentData();
+        }
+
+        void addView(BinEdFileHandler fileHandler) {
+            DataChangedListener listener = () -> {
+                notifyOtherViews(fileHandler);
+            };
+            fileHandler.getCodeArea().addDataChangedListener(listener);
+            views.put(fileHandler, listener);
+        }
+
+        void removeView(BinEdFileHandler fileHandler) {
+            DataChangedListener listener = views.remove(fileHandler);
+            if (listener != null) {
+                fileHandler.getCodeArea().removeDataChangedListener(listener);
+            }
+        }
+
+        private void notifyOtherViews(BinEdFileHandler source) {
+            if (propagating) {
+                return;
+            }
+
+            propagating = true;
+            try {
+                List<BinEdFileHandler> otherViews = new ArrayList<>(views.keySet());
+                otherViews.remove(source);
+                for (BinEdFileHandler view : otherViews) {
+                    SectCodeArea codeArea = view.getCodeArea();
+                    if (codeArea.getContentData() == getData()) {
+                        codeArea.notifyDataChanged();
+                    }
+                }
+            } finally {
+                propagating = false;
+            }
+        }
+    }
+}
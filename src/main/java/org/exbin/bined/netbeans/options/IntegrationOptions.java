@@ -17,6 +17,7 @@ package org.exbin.bined.netbeans.options;
 
 import java.util.Locale;
 import org.jspecify.annotations.NullMarked;
+import org.exbin.bined.netbeans.main.PageCache;
 import org.exbin.jaguif.options.api.OptionsStorage;
 import org.exbin.jaguif.options.settings.api.SettingsOptions;
 
@@ -40,6 +41,13 @@ public class IntegrationOptions implements SettingsOptions {
     public static final String KEY_REGISTER_BYTE_TO_BYTE_DIFF_TOOL = "registerByteToByteDiffTool";
 
     public static final String KEY_REGISTER_EDIT_AS_BINARY_FOR_DB_COLUMN = "registerEditAsBinaryForDbColumn";
+    public static final String KEY_PAGE_CACHE_CAPACITY = "pageCacheCapacity";
+    public static final String KEY_DEBUG_LITTLE_ENDIAN = "debugLittleEndian";
+    public static final String KEY_LARGE_FILE_THRESHOLD = "largeFileThreshold";
+    public static final String KEY_MEMORY_BUDGET = "memoryBudget";
+
+    public static final int DEFAULT_LARGE_FILE_THRESHOLD = 64;
+    public static final int DEFAULT_MEMORY_BUDGET = 256;
 
     private final OptionsStorage storage;
 
@@ -180,6 +188,48 @@ public class IntegrationOptions implements SettingsOptions {
         storage.putBoolean(KEY_REGISTER_EDIT_AS_BINARY_FOR_DB_COLUMN, registerEditAsBinaryForDbColumn);
     }
 
+    public int getPageCacheCapacity() {
+        return storage.getInt(KEY_PAGE_CACHE_CAPACITY, PageCache.DEFAULT_CAPACITY);
+    }
+
+    public void setPageCacheCapacity(int pageCacheCapacity) {
+        storage.putInt(KEY_PAGE_CACHE_CAPACITY, pageCacheCapacity);
+    }
+
+    public boolean isDebugLittleEndian() {
+        return storage.getBoolean(KEY_DEBUG_LITTLE_ENDIAN, false);
+    }
+
+    public void setDebugLittleEndian(boolean debugLittleEndian) {
+        storage.putBoolean(KEY_DEBUG_LITTLE_ENDIAN, debugLittleEndian);
+    }
+
+    /**
+     * Returns size in MiB above which files are opened in delta mode.
+     *
+     * @return size threshold, zero or negative value disables switching
+     */
+    public int getLargeFileThreshold() {
+        return storage.getInt(KEY_LARGE_FILE_THRESHOLD, DEFAULT_LARGE_FILE_THRESHOLD);
+    }
+
+    public void setLargeFileThreshold(int largeFileThreshold) {
+        storage.putInt(KEY_LARGE_FILE_THRESHOLD, largeFileThreshold);
+    }
+
+    /**
+     * Returns size in MiB of content data all editors can keep in memory.
+     *
+     * @return memory budget, zero or negative value disables limit
+     */
+    public int getMemoryBudget() {
+        return storage.getInt(KEY_MEMORY_BUDGET, DEFAULT_MEMORY_BUDGET);
+    }
+
+    public void setMemoryBudget(int memoryBudget) {
+        storage.putInt(KEY_MEMORY_BUDGET, memoryBudget);
+    }
+
     @Override
     public void copyTo(SettingsOptions options) {
         IntegrationOptions with = (IntegrationOptions) options;
@@ -193,5 +243,9 @@ public class IntegrationOptions implements SettingsOptions {
         with.setRegisterDebugViewAsBinary(isRegisterDebugViewAsBinary());
         with.setRegisterByteToByteDiffTool(isRegisterByteToByteDiffTool());
         with.setRegisterEditAsBinaryForDbColumn(isRegisterEditAsBinaryForDbColumn());
+        with.setPageCacheCapacity(getPageCacheCapacity());
+        with.setDebugLittleEndian(isDebugLittleEndian());
+        with.setLargeFileThreshold(getLargeFileThreshold());
+        with.setMemoryBudget(getMemoryBudget());
     }
 }
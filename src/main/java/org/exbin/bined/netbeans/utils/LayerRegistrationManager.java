@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+import org.jspecify.annotations.NullMarked;
+import org.openide.filesystems.FileChangeAdapter;
+import org.openide.filesystems.FileChangeListener;
+import org.openide.filesystems.FileEvent;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import org.openide.util.NbPreferences;
+
+/**
+ * Manager of registrations patched into type folders of system filesystem.
+ * <p>
+ * Type folders are second level folders of root folder like
+ * Loaders/text/x-java. Paths of patched folders are stored in preferences
+ * node, so that only type folders not patched yet are processed, and new type
+ * folders are patched when created. Without stored paths, all type folders
+ * are processed once. Folders skipped by registrar are processed again on
+ * next install.
+ */
+@NullMarked
+public final class LayerRegistrationManager {
+
+    private final String rootFolderPath;
+    private final String preferencesKey;
+    private final FolderRegistrar registrar;
+    private final Set<String> patchedPaths = new LinkedHashSet<>();
+    private final List<FileObject> observedFolders = new ArrayList<>();
+    private final FileChangeListener folderListener = new FileChangeAdapter() {
+        @Override
+        public void fileFolderCreated(FileEvent fe) {
+            folderCreated(fe.getFile());
+        }
+    };
+    private boolean pathsLoaded = false;
+    private boolean pathsStored = false;
+    private boolean installed = false;
+
+    public LayerRegistrationManager(String rootFolderPath, String preferencesKey, FolderRegistrar registrar) {
+        this.rootFolderPath = rootFolderPath;
+        this.preferencesKey = preferencesKey;
+        this.registrar = registrar;
+    }
+
+    /**
+     * Patches all type folders not patched yet and starts listening for new
+     * type folders.
+     */
+    public synchronized void install() {
+        if (installed) {
+            return;
+        }
+
+        FileObject rootFolder = FileUtil.getConfigFile(rootFolderPath);
+        if (rootFolder == null) {
+            return;
+        }
+
+        loadPatchedPaths();
+        Set<String> currentPaths = new LinkedHashSet<>();
+        observeFolder(rootFolder);
+        for (FileObject category : rootFolder.getChildren()) {
+            if (!category.isFolder()) {
+                continue;
+            }
+
+            observeFolder(category);
+            for (FileObject typeFolder : category.getChildren()) {
+                currentPaths.add(typeFolder.getPath());
+                patchFolder(typeFolder);
+            }
+        }
+
+        // Drop records of removed folders
+        patchedPaths.retainAll(currentPaths);
+        storePatchedPaths();
+        installed = true;
+    }
+
+    /**
+     * Removes registrations from patched type folders and stops listening.
+     */
+    public synchronized void uninstall() {
+        for (FileObject folder : observedFolders) {
+            folder.removeFileChangeListener(folderListener);
+        }
+        observedFolders.clear();
+        installed = false;
+
+        FileObject rootFolder = FileUtil.getConfigFile(rootFolderPath);
+        if (rootFolder == null) {
+            return;
+        }
+
+        loadPatchedPaths();
+        if (pathsStored) {
+            for (String path : patchedPaths) {
+                FileObject typeFolder = FileUtil.getConfigFile(path);
+                if (typeFolder != null) {
+                    registrar.uninstall(typeFolder);
+                }
+            }
+        } else {
+            for (FileObject category : rootFolder.getChildren()) {
+                for (FileObject typeFolder : category.getChildren()) {
+                    registrar.uninstall(typeFolder);
+                }
+            }
+        }
+
+        patchedPaths.clear();
+        storePatchedPaths();
+    }
+
+    private synchronized void folderCreated(FileObject folder) {
+        if (!installed) {
+            return;
+        }
+
+        FileObject parent = folder.getParent();
+        if (parent == null) {
+            return;
+        }
+
+        boolean changed = false;
+        if (rootFolderPath.equals(parent.getPath())) {
+            observeFolder(folder);
+            for (FileObject typeFolder : folder.getChildren()) {
+                changed |= patchFolder(typeFolder);
+            }
+        } else {
+            changed = patchFolder(folder);
+        }
+
+        if (changed) {
+            storePatchedPaths();
+        }
+    }
+
+    private boolean patchFolder(FileObject typeFolder) {
+        String path = typeFolder.getPath();
+        if (!typeFolder.isFolder() || patchedPaths.contains(path)) {
+            return false;
+        }
+
+        if (!registrar.install(typeFolder)) {
+            return false;
+        }
+
+        patchedPaths.add(path);
+        return true;
+    }
+
+    private void observeFolder(FileObject folder) {
+        if (!observedFolders.contains(folder)) {
+            folder.addFileChangeListener(folderListener);
+            observedFolders.add(folder);
+        }
+    }
+
+    private void loadPatchedPaths() {
+        if (pathsLoaded) {
+            return;
+        }
+
+        pathsLoaded = true;
+        Preferences preferences = getPreferences();
+        try {
+            if (!preferences.nodeExists(preferencesKey)) {
+                return;
+            }
+
+            Preferences pathsNode = preferences.node(preferencesKey);
+            for (String key : pathsNode.keys()) {
+                String path = pathsNode.get(key, null);
+                if (path != null) {
+                    patchedPaths.add(path);
+                }
+            }
+            pathsStored = true;
+        } catch (BackingStoreException ex) {
+            Logger.getLogger(LayerRegistrationManager.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    private void storePatchedPaths() {
+        // Each path is stored as separate value, single value is limited in length
+        Preferences pathsNode = getPreferences().node(preferencesKey);
+        try {
+            pathsNode.clear();
+            int index = 0;
+            for (String path : patchedPaths) {
+                pathsNode.put(String.valueOf(index), path);
+                index++;
+            }
+            pathsStored = true;
+        } catch (BackingStoreException ex) {
+            Logger.getLogger(LayerRegistrationManager.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    private static Preferences getPreferences() {
+        return NbPreferences.forModule(LayerRegistrationManager.class);
+    }
+
+    /**
+     * Registrar of registration for single type folder.
+     */
+    @NullMarked
+    public interface FolderRegistrar {
+
+        /**
+         * Installs registration to type folder.
+         *
+         * @param typeFolder type folder
+         * @return true if registration was installed, false if folder was
+         * skipped or installation failed
+         */
+        boolean install(FileObject typeFolder);
+
+        void uninstall(FileObject typeFolder);
+    }
+}
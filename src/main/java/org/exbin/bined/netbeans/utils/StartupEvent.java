@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.utils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Flight recorder event of plugin startup probe.
+ * <p>
+ * Event type is defined using reflection via jdk.jfr.EventFactory, so that
+ * plugin compiles and runs on Java 8 without flight recorder.
+ */
+@NullMarked
+final class StartupEvent {
+
+    private static final String EVENT_NAME = "org.exbin.bined.netbeans.Startup";
+    private static final int PROBE_FIELD = 0;
+    // Field name differs from implicit duration field of events
+    private static final int DURATION_FIELD = 1;
+
+    @Nullable
+    private static final EventType EVENT_TYPE = createEventType();
+
+    private StartupEvent() {
+    }
+
+    static void emit(String probe, long duration) {
+        EventType eventType = EVENT_TYPE;
+        if (eventType == null) {
+            return;
+        }
+
+        try {
+            Object event = eventType.newEvent.invoke(eventType.factory);
+            if ((Boolean) eventType.isEnabled.invoke(event)) {
+                eventType.set.invoke(event, PROBE_FIELD, probe);
+                eventType.set.invoke(event, DURATION_FIELD, duration);
+                eventType.commit.invoke(event);
+            }
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            Logger.getLogger(StartupEvent.class.getName()).log(Level.FINE, null, ex);
+        }
+    }
+
+    @Nullable
+    private static EventType createEventType() {
+        try {
+            Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+            Class<?> eventClass = Class.forName("jdk.jfr.Event");
+            Constructor<?> annotationConstructor = Class.forName("jdk.jfr.AnnotationElement").getConstructor(Class.class, Object.class);
+            Constructor<?> valueConstructor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class, List.class);
+
+            List<Object> eventAnnotations = new ArrayList<>();
+            eventAnnotations.add(annotationConstructor.newInstance(Class.forName("jdk.jfr.Name"), EVENT_NAME));
+            eventAnnotations.add(annotationConstructor.newInstance(Class.forName("jdk.jfr.Label"), "BinEd Startup"));
+            eventAnnotations.add(annotationConstructor.newInstance(Class.forName("jdk.jfr.Category"), new String[]{"BinEd", "Startup"}));
+            eventAnnotations.add(annotationConstructor.newInstance(Class.forName("jdk.jfr.Description"), "Duration of plugin startup phase"));
+
+            List<Object> fields = new ArrayList<>();
+            fields.add(valueConstructor.newInstance(String.class, "probe",
+                    Collections.singletonList(annotationConstructor.newInstance(Class.forName("jdk.jfr.Label"), "Probe"))));
+            fields.add(valueConstructor.newInstance(long.class, "probeDuration", Arrays.asList(
+                    annotationConstructor.newInstance(Class.forName("jdk.jfr.Label"), "Duration"),
+                    annotationConstructor.newInstance(Class.forName("jdk.jfr.Timespan"), "NANOSECONDS"))));
+
+            Object factory = eventFactoryClass.getMethod("create", List.class, List.class).invoke(null, eventAnnotations, fields);
+            return new EventType(factory,
+                    eventFactoryClass.getMethod("newEvent"),
+                    eventClass.getMethod("set", int.class, Object.class),
+                    eventClass.getMethod("isEnabled"),
+                    eventClass.getMethod("commit"));
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException ex) {
+            // Flight recorder is not available
+            return null;
+        }
+    }
+
+    private static final class EventType {
+
+        final Object factory;
+        final Method newEvent;
+        final Method set;
+        final Method isEnabled;
+        final Method commit;
+
+        EventType(Object factory, Method newEvent, Method set, Method isEnabled, Method commit) {
+            this.factory = factory;
+            this.newEvent = newEvent;
+            this.set = set;
+            this.isEnabled = isEnabled;
+            this.commit = commit;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) ExBin Project, https://exbin.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.netbeans.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Timing probes of plugin startup.
+ * <p>
+ * Only first measurement of each probe is kept, as later ones are not part of
+ * startup. Measurements are reported as flight recorder events when running
+ * on Java runtime with flight recorder and can be logged as summary.
+ */
+@NullMarked
+public final class StartupProfiler {
+
+    private static final Map<String, Long> DURATIONS = new LinkedHashMap<>();
+
+    private StartupProfiler() {
+    }
+
+    /**
+     * Runs operation and records its duration.
+     *
+     * @param probe probe name
+     * @param operation operation
+     */
+    public static void measure(String probe, Runnable operation) {
+        long startTime = System.nanoTime();
+        try {
+            operation.run();
+        } finally {
+            record(probe, startTime);
+        }
+    }
+
+    /**
+     * Records duration of probe started at given time.
+     *
+     * @param probe probe name
+     * @param startTime start time as returned by {@link System#nanoTime()}
+     * @return true if this was first measurement of the probe
+     */
+    public static boolean record(String probe, long startTime) {
+        long duration = System.nanoTime() - startTime;
+        synchronized (DURATIONS) {
+            if (DURATIONS.containsKey(probe)) {
+                return false;
+            }
+            DURATIONS.put(probe, duration);
+        }
+
+        StartupEvent.emit(probe, duration);
+        Logger.getLogger(StartupProfiler.class.getName()).log(Level.FINE, "{0}: {1} ms", new Object[]{probe, duration / 1000000.0});
+        return true;
+    }
+
+    /**
+     * Returns recorded durations in nanoseconds in order of recording.
+     *
+     * @return map of probe names to durations
+     */
+    public static Map<String, Long> getDurations() {
+        synchronized (DURATIONS) {
+            return new LinkedHashMap<>(DURATIONS);
+        }
+    }
+
+    /**
+     * Logs summary of all recorded probes.
+     */
+    public static void logSummary() {
+        Logger logger = Logger.getLogger(StartupProfiler.class.getName());
+        if (!logger.isLoggable(Level.FINE)) {
+            return;
+        }
+
+        StringBuilder summary = new StringBuilder("BinEd startup times:");
+        for (Map.Entry<String, Long> entry : getDurations().entrySet()) {
+            summary.append("\n    ").append(entry.getKey()).append(": ").append(String.format("%.3f", entry.getValue() / 1000000.0)).append(" ms");
+        }
+        logger.log(Level.FINE, summary.toString());
+    }
+}
@@ -15,31 +15,54 @@
  */
 package org.exbin.bined.netbeans.utils;
 
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.function.BooleanSupplier;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Utilities for stream data manipulations.
+ * <p>
+ * Data between file streams are transferred directly using file channels,
+ * other streams are copied using reusable per-thread buffer.
  */
 @NullMarked
 public final class StreamUtils {
 
-    private static final int BUFFER_SIZE = 1024;
+    private static final int BUFFER_SIZE = 65536;
+    private static final ThreadLocal<byte[]> BUFFER_POOL = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[BUFFER_SIZE];
+        }
+    };
 
     private StreamUtils() {
     }
 
     /**
-     * Copies all data from input stream to output stream using 1k buffer.
+     * Copies all data from input stream to output stream.
      *
      * @param source input stream
      * @param target output stream
      * @throws IOException if read or write fails
      */
     public static void copyInputStreamToOutputStream(InputStream source, OutputStream target) throws IOException {
-        byte[] buffer = new byte[BUFFER_SIZE];
+        FileChannel sourceChannel = getChannel(source);
+        FileChannel targetChannel = getChannel(target);
+        if (sourceChannel != null && targetChannel != null) {
+            transferData(sourceChannel, targetChannel, sourceChannel.size() - sourceChannel.position());
+            return;
+        }
+
+        byte[] buffer = BUFFER_POOL.get();
         int bufferUsed = 0;
 
         int bytesRead;
@@ -60,8 +83,8 @@ public final class StreamUtils {
     }
 
     /**
-     * Copies all data from input stream to output stream using 1k buffer with
-     * maximum size limitation.
+     * Copies all data from input stream to output stream with maximum size
+     * limitation.
      *
      * @param source input stream
      * @param target output stream
@@ -70,8 +93,19 @@ public final class StreamUtils {
      * then limitation
      */
     public static void copyInputStreamToOutputStream(InputStream source, OutputStream target, long maxAllowedSize) throws IOException {
+        FileChannel sourceChannel = getChannel(source);
+        FileChannel targetChannel = getChannel(target);
+        if (sourceChannel != null && targetChannel != null) {
+            long available = sourceChannel.size() - sourceChannel.position();
+            if (available > maxAllowedSize) {
+                throw new IOException("More data than limited to " + maxAllowedSize + " available.");
+            }
+            transferData(sourceChannel, targetChannel, available);
+            return;
+        }
+
         long remain = maxAllowedSize;
-        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] buffer = BUFFER_POOL.get();
         int bufferUsed = 0;
 
         int bytesRead;
@@ -96,8 +130,7 @@ public final class StreamUtils {
     }
 
     /**
-     * Copies data of given size from input stream to output stream using 1k
-     * buffer.
+     * Copies data of given size from input stream to output stream.
      *
      * @param source input stream
      * @param target output stream
@@ -105,9 +138,20 @@ public final class StreamUtils {
      * @throws IOException if read or write fails
      */
     public static void copyFixedSizeInputStreamToOutputStream(InputStream source, OutputStream target, long size) throws IOException {
+        FileChannel sourceChannel = getChannel(source);
+        FileChannel targetChannel = getChannel(target);
+        if (sourceChannel != null && targetChannel != null) {
+            long available = sourceChannel.size() - sourceChannel.position();
+            long transferred = transferData(sourceChannel, targetChannel, Math.min(size, available));
+            if (transferred < size) {
+                throw new IOException("Unexpected data processed - " + size + " expected, " + transferred + " processed.");
+            }
+            return;
+        }
+
         long remain = size;
         int bufferSize = size < BUFFER_SIZE ? (int) size : BUFFER_SIZE;
-        byte[] buffer = new byte[bufferSize];
+        byte[] buffer = BUFFER_POOL.get();
         int bufferUsed = 0;
 
         int bytesRead;
@@ -137,6 +181,34 @@ public final class StreamUtils {
         }
     }
 
+    /**
+     * Transfers data of given size between file channels starting at current
+     * positions of both channels.
+     * <p>
+     * Positions of both channels are advanced by the count of transferred
+     * bytes.
+     *
+     * @param source source channel
+     * @param target target channel
+     * @param size data size
+     * @return count of transferred bytes, lower than size only if end of
+     * source was reached
+     * @throws IOException if read or write fails
+     */
+    public static long transferData(FileChannel source, FileChannel target, long size) throws IOException {
+        long position = source.position();
+        long transferred = 0;
+        while (transferred < size) {
+            long count = source.transferTo(position + transferred, size - transferred, target);
+            if (count <= 0) {
+                break;
+            }
+            transferred += count;
+        }
+        source.position(position + transferred);
+        return transferred;
+    }
+
     /**
      * Skips given amount of data from input stream.
      *
@@ -145,6 +217,12 @@ public final class StreamUtils {
      * @throws IOException if skip fails
      */
     public static void skipInputStreamData(InputStream source, long skipBytes) throws IOException {
+        FileChannel sourceChannel = getChannel(source);
+        if (sourceChannel != null) {
+            sourceChannel.position(sourceChannel.position() + skipBytes);
+            return;
+        }
+
         while (skipBytes > 0) {
             long skipped = source.skip(skipBytes > BUFFER_SIZE ? BUFFER_SIZE : skipBytes);
             if (skipped <= 0) {
@@ -157,7 +235,7 @@ public final class StreamUtils {
         // Skip was not successful - read data instead
         if (skipBytes > 0) {
             int toRead = skipBytes < BUFFER_SIZE ? (int) skipBytes : BUFFER_SIZE;
-            byte[] buffer = new byte[toRead];
+            byte[] buffer = BUFFER_POOL.get();
             do {
                 int bytesRead = source.read(buffer, 0, toRead);
                 if (bytesRead <= 0) {
@@ -170,7 +248,7 @@ public final class StreamUtils {
     }
 
     /**
-     * Copies all data from input stream to two output streams using 1k buffer.
+     * Copies all data from input stream to two output streams.
      *
      * @param source input stream
      * @param target output stream
@@ -178,7 +256,7 @@ public final class StreamUtils {
      * @throws IOException if read or write fails
      */
     public static void copyInputStreamToTwoOutputStreams(InputStream source, OutputStream target, OutputStream secondTarget) throws IOException {
-        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] buffer = BUFFER_POOL.get();
         int bufferUsed = 0;
 
         int bytesRead;
@@ -206,28 +284,94 @@ public final class StreamUtils {
      *
      * @param stream one stream
      * @param compStream other stream
-     * @return true if both streams have same data and length
-     * @throws IOException if read or write fails
+     * @return offset of the first mismatching byte relative to the current
+     * position or -1 if both streams have same data and length, if one stream
+     * ends earlier, offset where the shorter stream ends is returned
+     * @throws IOException if read fails
      */
-    public static boolean compareStreams(InputStream stream, InputStream compStream) throws IOException {
-        byte[] dataBlob = new byte[2];
+    public static long compareStreams(InputStream stream, InputStream compStream) throws IOException {
+        return compareStreams(stream, compStream, () -> false);
+    }
 
-        int nextByte;
-        do {
-            nextByte = stream.read(dataBlob, 0, 1);
-            int compNextByte = compStream.read(dataBlob, 1, 1);
-            if (nextByte < 0) {
-                return compNextByte < 0;
+    /**
+     * Compares two streams for matching data from current position till the
+     * end, cancellation is checked before each block is read.
+     *
+     * @param stream one stream
+     * @param compStream other stream
+     * @param cancelled cancellation check
+     * @return offset of the first mismatching byte relative to the current
+     * position or -1 if both streams have same data and length, if one stream
+     * ends earlier, offset where the shorter stream ends is returned
+     * @throws InterruptedIOException if comparison was cancelled
+     * @throws IOException if read fails
+     */
+    public static long compareStreams(InputStream stream, InputStream compStream, BooleanSupplier cancelled) throws IOException {
+        byte[] buffer = BUFFER_POOL.get();
+        ByteBuffer wrappedBuffer = ByteBuffer.wrap(buffer);
+        int blockSize = BUFFER_SIZE / 2;
+        long offset = 0;
+        while (true) {
+            if (cancelled.getAsBoolean()) {
+                throw new InterruptedIOException("Comparison cancelled");
             }
-            if (compNextByte < 0) {
-                return false;
+
+            int length = readBlock(stream, buffer, 0, blockSize);
+            int compLength = readBlock(compStream, buffer, blockSize, blockSize);
+            int commonLength = Math.min(length, compLength);
+
+            // Compare by 8 bytes first, then find exact position
+            int index = 0;
+            while (index + 8 <= commonLength && wrappedBuffer.getLong(index) == wrappedBuffer.getLong(blockSize + index)) {
+                index += 8;
+            }
+            while (index < commonLength) {
+                if (buffer[index] != buffer[blockSize + index]) {
+                    return offset + index;
+                }
+                index++;
             }
 
-            if (dataBlob[0] != dataBlob[1]) {
-                return false;
+            if (length != compLength) {
+                return offset + commonLength;
+            }
+            if (length < blockSize) {
+                return -1;
             }
-        } while (nextByte > 0);
+            offset += length;
+        }
+    }
+
+    /**
+     * Reads data to buffer until requested length or end of stream is
+     * reached.
+     *
+     * @param stream input stream
+     * @param buffer target buffer
+     * @param offset buffer offset
+     * @param length requested length
+     * @return count of read bytes
+     * @throws IOException if read fails
+     */
+    public static int readBlock(InputStream stream, byte[] buffer, int offset, int length) throws IOException {
+        int position = 0;
+        while (position < length) {
+            int bytesRead = stream.read(buffer, offset + position, length - position);
+            if (bytesRead < 0) {
+                break;
+            }
+            position += bytesRead;
+        }
+        return position;
+    }
+
+    @Nullable
+    private static FileChannel getChannel(InputStream stream) {
+        return stream instanceof FileInputStream ? ((FileInputStream) stream).getChannel() : null;
+    }
 
-        return true;
+    @Nullable
+    private static FileChannel getChannel(OutputStream stream) {
+        return stream instanceof FileOutputStream ? ((FileOutputStream) stream).getChannel() : null;
     }
 }